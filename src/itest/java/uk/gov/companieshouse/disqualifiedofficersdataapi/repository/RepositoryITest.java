@@ -7,11 +7,28 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import org.testcontainers.junit.jupiter.Testcontainers;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.config.AbstractMongoConfig;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ChangeOperation;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Created;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationChange;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationChanges;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ExportFilter;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ResourceChangedOutboxEntry;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Updated;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DeltaAtCodec;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Testcontainers
 @DataMongoTest
@@ -20,6 +37,15 @@ class RepositoryITest extends AbstractMongoConfig {
   @Autowired
   private NaturalDisqualifiedOfficerRepository naturalRepository;
 
+  @Autowired
+  private CorporateDisqualifiedOfficerRepository corporateRepository;
+
+  @Autowired
+  private DisqualifiedOfficerRepository repository;
+
+  @Autowired
+  private ResourceChangedOutboxRepository outboxRepository;
+
   @BeforeAll
   static void setup(){
     mongoDBContainer.start();
@@ -34,6 +60,367 @@ class RepositoryITest extends AbstractMongoConfig {
     Assertions.assertThat(naturalRepository.findById("1234567890")).isNotEmpty();
   }
 
+  @Test
+  void should_insert_then_replace_disqualification_keeping_created() {
+    NaturalDisqualificationDocument first = createUpsertDocument("upsert_id", "20230925171003950844",
+        LocalDateTime.of(2023, 9, 25, 0, 0));
+    NaturalDisqualificationDocument second = createUpsertDocument("upsert_id", "20240925171003950844",
+        LocalDateTime.of(2024, 9, 25, 0, 0));
+
+    Assertions.assertThat(repository.upsertIfNotStale(first)).isEqualTo(UpsertResult.INSERTED);
+    Assertions.assertThat(repository.upsertIfNotStale(second)).isEqualTo(UpsertResult.APPLIED);
+
+    NaturalDisqualificationDocument actual = naturalRepository.findById("upsert_id").orElseThrow();
+    Assertions.assertThat(actual.getDeltaAt()).isEqualTo("20240925171003950844");
+    Assertions.assertThat(actual.getCreated().getAt()).isEqualTo(first.getCreated().getAt());
+  }
+
+  @Test
+  void should_reject_stale_disqualification() {
+    NaturalDisqualificationDocument current = createUpsertDocument("stale_id", "20240925171003950844",
+        LocalDateTime.of(2024, 9, 25, 0, 0));
+    NaturalDisqualificationDocument stale = createUpsertDocument("stale_id", "20220925171003950844",
+        LocalDateTime.of(2022, 9, 25, 0, 0));
+
+    Assertions.assertThat(repository.upsertIfNotStale(current)).isEqualTo(UpsertResult.INSERTED);
+    Assertions.assertThat(repository.upsertIfNotStale(stale)).isEqualTo(UpsertResult.STALE);
+
+    Assertions.assertThat(naturalRepository.findById("stale_id").orElseThrow().getDeltaAt())
+        .isEqualTo("20240925171003950844");
+  }
+
+  @Test
+  void should_bulk_upsert_with_a_result_per_document() {
+    repository.upsertIfNotStale(createUpsertDocument("bulk_existing", "20230925171003950844",
+        LocalDateTime.of(2023, 9, 25, 0, 0)));
+    repository.upsertIfNotStale(createUpsertDocument("bulk_current", "20240925171003950844",
+        LocalDateTime.of(2024, 9, 25, 0, 0)));
+
+    List<UpsertResult> results = repository.upsertAllIfNotStale(List.of(
+        createUpsertDocument("bulk_new", "20240925171003950844", LocalDateTime.of(2024, 9, 25, 0, 0)),
+        createUpsertDocument("bulk_existing", "20240925171003950844", LocalDateTime.of(2024, 9, 25, 0, 0)),
+        createUpsertDocument("bulk_current", "20220925171003950844", LocalDateTime.of(2022, 9, 25, 0, 0))));
+
+    Assertions.assertThat(results)
+        .containsExactly(UpsertResult.INSERTED, UpsertResult.APPLIED, UpsertResult.STALE);
+    Assertions.assertThat(naturalRepository.findById("bulk_existing").orElseThrow().getDeltaAt())
+        .isEqualTo("20240925171003950844");
+    Assertions.assertThat(naturalRepository.findById("bulk_current").orElseThrow().getDeltaAt())
+        .isEqualTo("20240925171003950844");
+  }
+
+  @Test
+  void should_find_and_delete_only_a_current_document_of_the_requested_type() {
+    repository.upsertIfNotStale(createUpsertDocument("find_delete_id", "20230925171003950844",
+        LocalDateTime.of(2023, 9, 25, 0, 0)));
+
+    Assertions.assertThat(repository.findAndDeleteIfNotStale("find_delete_id", true, "20240925171003950844",
+        DeltaAtCodec.parseEpochMicros("20240925171003950844"), NaturalDisqualificationDocument.class)).isEmpty();
+    Assertions.assertThat(repository.findAndDeleteIfNotStale("find_delete_id", false, "20220925171003950844",
+        DeltaAtCodec.parseEpochMicros("20220925171003950844"), NaturalDisqualificationDocument.class)).isEmpty();
+
+    Assertions.assertThat(repository.findAndDeleteIfNotStale("find_delete_id", false, "20240925171003950844",
+            DeltaAtCodec.parseEpochMicros("20240925171003950844"), NaturalDisqualificationDocument.class))
+        .hasValueSatisfying(deleted -> Assertions.assertThat(deleted.getDeltaAt())
+            .isEqualTo("20230925171003950844"));
+    Assertions.assertThat(naturalRepository.existsById("find_delete_id")).isFalse();
+  }
+
+  @Test
+  void should_bulk_delete_only_unchanged_documents() {
+    NaturalDisqualificationDocument unchanged = createUpsertDocument("delete_unchanged", "20230925171003950844",
+        LocalDateTime.of(2023, 9, 25, 0, 0));
+    NaturalDisqualificationDocument changed = createUpsertDocument("delete_changed", "20230925171003950844",
+        LocalDateTime.of(2023, 9, 25, 0, 0));
+    repository.upsertIfNotStale(unchanged);
+    repository.upsertIfNotStale(changed);
+    repository.upsertIfNotStale(createUpsertDocument("delete_changed", "20240925171003950844",
+        LocalDateTime.of(2024, 9, 25, 0, 0)));
+
+    Assertions.assertThat(repository.deleteAllUnchanged(List.of(unchanged, changed)))
+        .containsExactly("delete_unchanged");
+    Assertions.assertThat(naturalRepository.existsById("delete_unchanged")).isFalse();
+    Assertions.assertThat(naturalRepository.existsById("delete_changed")).isTrue();
+  }
+
+  @Test
+  void should_bulk_delete_a_repeated_document_once() {
+    NaturalDisqualificationDocument repeated = createUpsertDocument("delete_repeated", "20230925171003950844",
+        LocalDateTime.of(2023, 9, 25, 0, 0));
+    repository.upsertIfNotStale(repeated);
+
+    Assertions.assertThat(repository.deleteAllUnchanged(List.of(repeated, repeated)))
+        .containsExactly("delete_repeated");
+    Assertions.assertThat(naturalRepository.existsById("delete_repeated")).isFalse();
+  }
+
+  @Test
+  void should_not_report_a_document_deleted_by_another_writer_as_deleted() {
+    NaturalDisqualificationDocument gone = createUpsertDocument("delete_gone", "20230925171003950844",
+        LocalDateTime.of(2023, 9, 25, 0, 0));
+    repository.upsertIfNotStale(gone);
+    naturalRepository.deleteById("delete_gone");
+
+    Assertions.assertThat(repository.deleteAllUnchanged(List.of(gone))).isEmpty();
+
+    NaturalDisqualificationDocument unchanged = createUpsertDocument("delete_beside_gone", "20230925171003950844",
+        LocalDateTime.of(2023, 9, 25, 0, 0));
+    repository.upsertIfNotStale(unchanged);
+
+    Assertions.assertThat(repository.deleteAllUnchanged(List.of(gone, unchanged)))
+        .containsExactly("delete_beside_gone");
+    Assertions.assertThat(naturalRepository.existsById("delete_beside_gone")).isFalse();
+  }
+
+  @Test
+  void should_increment_version_on_every_write_and_not_delete_a_document_written_since_read() {
+    repository.upsertIfNotStale(createUpsertDocument("version_id", "20230925171003950844",
+        LocalDateTime.of(2023, 9, 25, 0, 0)));
+    NaturalDisqualificationDocument read = naturalRepository.findById("version_id").orElseThrow();
+    Assertions.assertThat(read.getVersion()).isEqualTo(1L);
+
+    repository.upsertIfNotStale(createUpsertDocument("version_id", "20230925171003950844",
+        LocalDateTime.of(2023, 9, 26, 0, 0)));
+    Assertions.assertThat(naturalRepository.findById("version_id").orElseThrow().getVersion()).isEqualTo(2L);
+
+    Assertions.assertThat(repository.deleteAllUnchanged(List.of(read))).isEmpty();
+    NaturalDisqualificationDocument reread = naturalRepository.findById("version_id").orElseThrow();
+    Assertions.assertThat(repository.deleteAllUnchanged(List.of(reread))).containsExactly("version_id");
+  }
+
+  @Test
+  void should_stream_documents_of_one_type_within_export_bounds() {
+    repository.upsertIfNotStale(createUpsertDocument("export_1", "20190101000000000000",
+        LocalDateTime.of(2019, 1, 1, 0, 0)));
+    repository.upsertIfNotStale(createUpsertDocument("export_2", "20190601000000000000",
+        LocalDateTime.of(2019, 6, 1, 0, 0)));
+    repository.upsertIfNotStale(createUpsertDocument("export_3", "20191201000000000000",
+        LocalDateTime.of(2019, 12, 1, 0, 0)));
+
+    try (Stream<NaturalDisqualificationDocument> documents = repository.streamAll(false,
+        new ExportFilter(null, null, "20190101000000000000", "20191201000000000000"), 1,
+        NaturalDisqualificationDocument.class)) {
+      Assertions.assertThat(documents.map(DisqualificationDocument::getId))
+          .containsExactly("export_1", "export_2");
+    }
+    try (Stream<NaturalDisqualificationDocument> documents = repository.streamAll(false,
+        new ExportFilter(LocalDateTime.of(2019, 6, 1, 0, 0), null, "20190101000000000000", "20200101000000000000"),
+        1, NaturalDisqualificationDocument.class)) {
+      Assertions.assertThat(documents.map(DisqualificationDocument::getId))
+          .containsExactly("export_2", "export_3");
+    }
+    try (Stream<NaturalDisqualificationDocument> documents = repository.streamAll(true,
+        new ExportFilter(null, null, "20190101000000000000", "20200101000000000000"), 1,
+        NaturalDisqualificationDocument.class)) {
+      Assertions.assertThat(documents).isEmpty();
+    }
+  }
+
+  @Test
+  void should_read_changes_after_a_resume_token() {
+    DisqualificationChanges start = repository.findChanges(null, 10, 100);
+    Assertions.assertThat(start.changes()).isEmpty();
+    Assertions.assertThat(start.resumeToken()).isNotBlank();
+
+    NaturalDisqualificationDocument document = createUpsertDocument("change_id", "20230925171003950844",
+        LocalDateTime.of(2023, 9, 25, 0, 0));
+    repository.upsertIfNotStale(document);
+    repository.upsertIfNotStale(createUpsertDocument("change_id", "20240925171003950844",
+        LocalDateTime.of(2024, 9, 25, 0, 0)));
+    naturalRepository.deleteById("change_id");
+
+    DisqualificationChanges first = repository.findChanges(start.resumeToken(), 2, 1000);
+    Assertions.assertThat(first.changes()).containsExactly(
+        new DisqualificationChange("change_id", ChangeOperation.CHANGED),
+        new DisqualificationChange("change_id", ChangeOperation.CHANGED));
+
+    DisqualificationChanges second = repository.findChanges(first.resumeToken(), 10, 1000);
+    Assertions.assertThat(second.changes()).containsExactly(
+        new DisqualificationChange("change_id", ChangeOperation.DELETED));
+
+    Assertions.assertThat(repository.findChanges(second.resumeToken(), 10, 100).changes()).isEmpty();
+  }
+
+  @Test
+  void should_find_only_data_and_officer_type_by_id() {
+    NaturalDisqualificationDocument document = createUpsertDocument("data_id", "20230925171003950844",
+        LocalDateTime.of(2023, 9, 25, 0, 0));
+    document.setOfficerIdRaw("raw_id");
+    document.getData().setEtag("etag");
+    naturalRepository.save(document);
+
+    Assertions.assertThat(naturalRepository.findDataById("data_id")).hasValueSatisfying(projected -> {
+      Assertions.assertThat(projected.getData().getEtag()).isEqualTo("etag");
+      Assertions.assertThat(projected.isCorporateOfficer()).isFalse();
+      Assertions.assertThat(projected.getOfficerIdRaw()).isNull();
+      Assertions.assertThat(projected.getDeltaAt()).isNull();
+      Assertions.assertThat(projected.getUpdated()).isNull();
+    });
+    Assertions.assertThat(naturalRepository.findDataById("missing_id")).isEmpty();
+    Assertions.assertThat(corporateRepository.findDataById("data_id")).isEmpty();
+  }
+
+  @Test
+  void should_store_and_project_response_body_and_drop_it_on_replace_without_one() {
+    byte[] responseBody = "{\"kind\":\"natural-disqualification\"}".getBytes(StandardCharsets.UTF_8);
+    NaturalDisqualificationDocument document = createUpsertDocument("body_id", "20230925171003950844",
+        LocalDateTime.of(2023, 9, 25, 0, 0));
+    document.getData().setEtag("etag");
+    document.setResponseBody(responseBody);
+    repository.upsertIfNotStale(document);
+
+    Assertions.assertThat(naturalRepository.findResponseBodyById("body_id")).hasValueSatisfying(projected -> {
+      Assertions.assertThat(projected.getResponseBody()).isEqualTo(responseBody);
+      Assertions.assertThat(projected.getData().getEtag()).isEqualTo("etag");
+      Assertions.assertThat(projected.getDeltaAt()).isNull();
+    });
+    Assertions.assertThat(corporateRepository.findResponseBodyById("body_id")).isEmpty();
+
+    NaturalDisqualificationDocument replacement = createUpsertDocument("body_id", "20230925171003950845",
+        LocalDateTime.of(2023, 9, 26, 0, 0));
+    repository.upsertIfNotStale(replacement);
+
+    Assertions.assertThat(naturalRepository.findResponseBodyById("body_id"))
+        .hasValueSatisfying(projected -> Assertions.assertThat(projected.getResponseBody()).isNull());
+  }
+
+  @Test
+  void should_find_data_of_many_officers_as_their_stored_type() {
+    NaturalDisqualificationDocument natural = createDisqualificationDocument("batch_natural_id");
+    natural.setOfficerIdRaw("raw_id");
+    natural.getData().setEtag("natural_etag");
+    naturalRepository.save(natural);
+    CorporateDisqualificationDocument corporate = new CorporateDisqualificationDocument();
+    CorporateDisqualificationApi data = new CorporateDisqualificationApi();
+    data.setEtag("corporate_etag");
+    corporate.setData(data);
+    corporate.setId("batch_corporate_id");
+    corporate.setCorporateOfficer(true);
+    corporateRepository.save(corporate);
+
+    List<DisqualificationDocument> found = repository.findDataByIds(
+        List.of("batch_natural_id", "batch_corporate_id", "missing_id"));
+
+    Assertions.assertThat(found).hasSize(2);
+    Assertions.assertThat(found).filteredOn(NaturalDisqualificationDocument.class::isInstance)
+        .singleElement().satisfies(document -> {
+          Assertions.assertThat(document.getId()).isEqualTo("batch_natural_id");
+          Assertions.assertThat(((NaturalDisqualificationDocument) document).getData().getEtag())
+              .isEqualTo("natural_etag");
+          Assertions.assertThat(document.getOfficerIdRaw()).isNull();
+        });
+    Assertions.assertThat(found).filteredOn(CorporateDisqualificationDocument.class::isInstance)
+        .singleElement().satisfies(document -> {
+          Assertions.assertThat(document.getId()).isEqualTo("batch_corporate_id");
+          Assertions.assertThat(((CorporateDisqualificationDocument) document).getData().getEtag())
+              .isEqualTo("corporate_etag");
+          Assertions.assertThat(document.isCorporateOfficer()).isTrue();
+        });
+  }
+
+  @Test
+  void should_find_etag_and_officer_type_by_id() {
+    NaturalDisqualificationDocument document = createDisqualificationDocument("etag_id");
+    document.getData().setEtag("etag");
+    naturalRepository.save(document);
+
+    Assertions.assertThat(repository.findEtagById("etag_id"))
+        .contains(new DisqualificationEtag("etag", false));
+    Assertions.assertThat(repository.findEtagById("missing_id")).isEmpty();
+  }
+
+  @Test
+  void should_lease_outbox_entry_to_one_owner_until_completed() {
+    Instant now = Instant.now();
+    ResourceChangedOutboxEntry entry = outboxRepository.insert(new ResourceChangedOutboxEntry()
+        .setOfficerId("outbox_id")
+        .setOfficerType(DisqualificationResourceType.NATURAL)
+        .setCreatedAt(now)
+        .setNextAttemptAt(now));
+
+    Assertions.assertThat(outboxRepository.claim(entry.getId(), "first", now, now.plusSeconds(60))).isTrue();
+    Assertions.assertThat(outboxRepository.claim(entry.getId(), "second", now, now.plusSeconds(60))).isFalse();
+
+    outboxRepository.reschedule(entry.getId(), "first", 1, now);
+    ResourceChangedOutboxEntry rescheduled = outboxRepository.findById(entry.getId()).orElseThrow();
+    Assertions.assertThat(rescheduled.getAttempts()).isEqualTo(1);
+    Assertions.assertThat(rescheduled.getLeasedUntil()).isNull();
+
+    Assertions.assertThat(outboxRepository.claim(entry.getId(), "second", now, now.plusSeconds(60))).isTrue();
+    outboxRepository.complete(entry.getId(), "first");
+    Assertions.assertThat(outboxRepository.findById(entry.getId())).isNotEmpty();
+    outboxRepository.complete(entry.getId(), "second");
+    Assertions.assertThat(outboxRepository.findById(entry.getId())).isEmpty();
+  }
+
+  @Test
+  void should_not_claim_outbox_entry_rescheduled_or_parked_since_it_was_read() {
+    Instant now = Instant.now();
+    ResourceChangedOutboxEntry rescheduled = outboxRepository.insert(outboxEntry("rescheduled_id", now));
+    ResourceChangedOutboxEntry parked = outboxRepository.insert(outboxEntry("parked_claim_id", now));
+    Assertions.assertThat(outboxRepository.findReady(now, 10, List.of()))
+        .extracting(ResourceChangedOutboxEntry::getId)
+        .contains(rescheduled.getId(), parked.getId());
+
+    Assertions.assertThat(outboxRepository.claim(rescheduled.getId(), "first", now, now.plusSeconds(60))).isTrue();
+    outboxRepository.reschedule(rescheduled.getId(), "first", 1, now.plusSeconds(30));
+    Assertions.assertThat(outboxRepository.claim(parked.getId(), "first", now, now.plusSeconds(60))).isTrue();
+    outboxRepository.park(parked.getId(), "first", 20, now);
+
+    Assertions.assertThat(outboxRepository.claim(rescheduled.getId(), "second", now, now.plusSeconds(60)))
+        .isFalse();
+    Assertions.assertThat(outboxRepository.claim(parked.getId(), "second", now, now.plusSeconds(60))).isFalse();
+    Assertions.assertThat(outboxRepository.claim(rescheduled.getId(), "second", now.plusSeconds(30),
+        now.plusSeconds(90))).isTrue();
+  }
+
+  @Test
+  void should_find_only_ready_outbox_entries_and_the_blocked_entries_before_them() {
+    Instant now = Instant.now();
+    ResourceChangedOutboxEntry backingOff = outboxRepository.insert(outboxEntry("blocked_id", now.minusSeconds(3))
+        .setNextAttemptAt(now.plusSeconds(60)));
+    outboxRepository.insert(outboxEntry("leased_id", now.minusSeconds(2))
+        .setLeasedUntil(now.plusSeconds(60)));
+    outboxRepository.insert(outboxEntry("parked_id", now.minusSeconds(1))
+        .setParkedAt(now));
+    ResourceChangedOutboxEntry ready = outboxRepository.insert(outboxEntry("blocked_id", now));
+    ResourceChangedOutboxEntry other = outboxRepository.insert(outboxEntry("ready_id", now));
+
+    Assertions.assertThat(outboxRepository.findReady(now, 2, List.of()))
+        .extracting(ResourceChangedOutboxEntry::getId)
+        .containsExactly(ready.getId(), other.getId());
+    Assertions.assertThat(outboxRepository.findBlocked(List.of("blocked_id", "parked_id", "ready_id"), now))
+        .extracting(ResourceChangedOutboxEntry::getId)
+        .containsExactly(backingOff.getId());
+
+    Assertions.assertThat(outboxRepository.claim(other.getId(), "owner", now, now.plusSeconds(60))).isTrue();
+    outboxRepository.park(other.getId(), "owner", 20, now);
+    ResourceChangedOutboxEntry reread = outboxRepository.findById(other.getId()).orElseThrow();
+    Assertions.assertThat(reread.getParkedAt()).isNotNull();
+    Assertions.assertThat(reread.getLeaseOwner()).isNull();
+    Assertions.assertThat(outboxRepository.findReady(now, 10, List.of()))
+        .extracting(ResourceChangedOutboxEntry::getId)
+        .containsExactly(ready.getId());
+    Assertions.assertThat(outboxRepository.findReady(now, 10, List.of("blocked_id"))).isEmpty();
+  }
+
+  private static ResourceChangedOutboxEntry outboxEntry(String officerId, Instant createdAt) {
+    return new ResourceChangedOutboxEntry()
+        .setOfficerId(officerId)
+        .setOfficerType(DisqualificationResourceType.NATURAL)
+        .setCreatedAt(createdAt)
+        .setNextAttemptAt(createdAt);
+  }
+
+  private NaturalDisqualificationDocument createUpsertDocument(String officerId, String deltaAt,
+      LocalDateTime updatedAt) {
+    NaturalDisqualificationDocument document = createDisqualificationDocument(officerId);
+    document.setDeltaAt(deltaAt);
+    document.setUpdated(new Updated().setAt(updatedAt));
+    document.setCreated(new Created().setAt(updatedAt));
+    return document;
+  }
+
   private NaturalDisqualificationDocument createDisqualificationDocument(String officerId) {
     NaturalDisqualificationDocument disqualificationDocument = new NaturalDisqualificationDocument();
 
@@ -0,0 +1,124 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import java.time.LocalDate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import uk.gov.companieshouse.api.disqualification.PermissionToAct;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ApplicationConfig;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.PermissionToActMixIn;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.serialization.LocalDateDeSerializer;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.serialization.LocalDateSerializer;
+
+/**
+ * Realistic disqualification payloads for the benchmarks, with a configurable number of disqualifications and
+ * permissions to act.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String OFFICER_ID = "1234567890";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * The object mapper the primary bean in {@link ApplicationConfig} provides, as used for request bodies.
+     */
+    public static ObjectMapper requestObjectMapper() {
+        return new ApplicationConfig().objectMapper();
+    }
+
+    /**
+     * A copy of the object mapper {@link ApplicationConfig} builds for the MongoDB converters.
+     */
+    public static ObjectMapper mongoObjectMapper() {
+        return new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+                .setSerializationInclusion(JsonInclude.Include.NON_EMPTY)
+                .addMixIn(PermissionToAct.class, PermissionToActMixIn.class)
+                .registerModule(new SimpleModule()
+                        .addSerializer(LocalDate.class, new LocalDateSerializer())
+                        .addDeserializer(LocalDate.class, new LocalDateDeSerializer()));
+    }
+
+    public static String naturalJson(int disqualifications, int permissionsToAct) {
+        return """
+                {
+                  "person_number": "2",
+                  "date_of_birth": "1960-12-31",
+                  "etag": "7a0ba73f960315629fa36fc41b4d325881773245",
+                  "title": "Mr",
+                  "forename": "Dust",
+                  "other_forenames": "Condition Reserve",
+                  "surname": "KINDNESSLIQUOR",
+                  "honours": "OBE",
+                  "nationality": "British",
+                  "disqualifications": [%s],
+                  "permissions_to_act": [%s],
+                  "links": {"self": "/disqualified-officers/natural/%s"}
+                }""".formatted(disqualifications(disqualifications), permissionsToAct(permissionsToAct), OFFICER_ID);
+    }
+
+    public static String corporateJson(int disqualifications) {
+        return """
+                {
+                  "company_number": "00053723",
+                  "name": "BABYLON INCORPORATION LIMITED",
+                  "etag": "7a0ba73f960315629fa36fc41b4d325881773245",
+                  "country_of_registration": "SCOTLAND",
+                  "disqualifications": [%s],
+                  "links": {"self": "/disqualified-officers/corporate/%s"}
+                }""".formatted(disqualifications(disqualifications), OFFICER_ID);
+    }
+
+    /**
+     * Wraps external data in the internal request body the PUT endpoints accept.
+     */
+    public static String internalJson(String externalData) {
+        return """
+                {
+                  "external_data": %s,
+                  "internal_data": {
+                    "delta_at": "2024-09-25T17:10:03.950844Z",
+                    "officer_id": "%s",
+                    "officer_id_raw": "%s",
+                    "officer_disq_id": "1234567890",
+                    "officer_detail_id": "1234567890"
+                  }
+                }""".formatted(externalData, OFFICER_ID, OFFICER_ID);
+    }
+
+    private static String disqualifications(int count) {
+        return IntStream.range(0, count).mapToObj(i -> """
+                {
+                  "address": {"premise": "%d", "address_line_1": "Lucy Road", "address_line_2": "Skewen",
+                    "locality": "Neath", "region": "West Glamorgan", "country": "Wales", "postal_code": "SA10 6RR"},
+                  "case_identifier": "INV%07d",
+                  "company_names": ["CONSORTIUM TECHNOLOGY LIMITED", "CONSORTIUM HOLDINGS %d LIMITED"],
+                  "court_name": "Insolvency Service",
+                  "disqualification_type": "UNDERTAKING",
+                  "disqualified_from": "2022-04-05",
+                  "disqualified_until": "2037-04-05",
+                  "heard_on": "2022-03-01",
+                  "undertaken_on": "2022-03-01",
+                  "reason": {"description_identifier": "order-or-undertaking-and-reporting-provisions",
+                    "section": "7", "act": "company-directors-disqualification-act-1986", "article": "1"}
+                }""".formatted(i, i, i)).collect(Collectors.joining(","));
+    }
+
+    private static String permissionsToAct(int count) {
+        return IntStream.range(0, count).mapToObj(i -> """
+                {
+                  "company_names": ["PERMITTED COMPANY %d LIMITED"],
+                  "court_name": "Cardiff",
+                  "granted_on": "2023-01-02",
+                  "expires_on": "2030-01-02",
+                  "purpose": "To act as a director"
+                }""".formatted(i)).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,82 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.companieshouse.api.chskafka.ChangedResource;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.BenchmarkFixtures;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ApplicationConfig;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+
+/**
+ * Maps changed and deleted events; deleted events carry the whole disqualification as deleted_data.
+ * {@link #deletedDataJsonRoundTrip} keeps the earlier write-then-read conversion of deleted_data for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourceChangedRequestMapperBenchmark {
+
+    @Param({"1", "200"})
+    private int disqualifications;
+
+    private ResourceChangedRequestMapper mapper;
+    private ResourceChangedRequest changedRequest;
+    private ResourceChangedRequest deletedRequest;
+    private ResourceChangedRequest corporateDeletedRequest;
+    private ObjectMapper objectMapper;
+    private CorporateDisqualificationApi corporate;
+
+    @Setup
+    public void setUp() throws Exception {
+        ApplicationConfig config = new ApplicationConfig();
+        objectMapper = config.objectMapper();
+        mapper = new ResourceChangedRequestMapper(config.timestampGenerator(), objectMapper);
+
+        NaturalDisqualificationApi natural = objectMapper.readValue(
+                BenchmarkFixtures.naturalJson(disqualifications, disqualifications), NaturalDisqualificationApi.class);
+        corporate = objectMapper.readValue(BenchmarkFixtures.corporateJson(disqualifications),
+                CorporateDisqualificationApi.class);
+        changedRequest = new ResourceChangedRequest("context_id", BenchmarkFixtures.OFFICER_ID,
+                DisqualificationResourceType.NATURAL, null, false);
+        deletedRequest = new ResourceChangedRequest("context_id", BenchmarkFixtures.OFFICER_ID,
+                DisqualificationResourceType.NATURAL, natural, true);
+        corporateDeletedRequest = new ResourceChangedRequest("context_id", BenchmarkFixtures.OFFICER_ID,
+                DisqualificationResourceType.CORPORATE, corporate, true);
+    }
+
+    @Benchmark
+    public ChangedResource mapChanged() {
+        return mapper.mapChangedResource(changedRequest);
+    }
+
+    @Benchmark
+    public ChangedResource mapDeleted() {
+        return mapper.mapChangedResource(deletedRequest);
+    }
+
+    @Benchmark
+    public ChangedResource mapDeletedCorporate() {
+        return mapper.mapChangedResource(corporateDeletedRequest);
+    }
+
+    @Benchmark
+    public Object deletedDataJsonRoundTrip() throws Exception {
+        return objectMapper.readValue(objectMapper.writeValueAsString(corporate), Object.class);
+    }
+}
@@ -0,0 +1,80 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.BasicDBObject;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.BenchmarkFixtures;
+
+/**
+ * Reads a stored natural disqualification and writes a corporate one through the MongoDB converters, next to
+ * the JSON text round trip they replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConverterBenchmark {
+
+    @Param({"1", "25", "200"})
+    private int disqualifications;
+
+    private ObjectMapper objectMapper;
+    private DisqualifiedNaturalOfficerReadConverter naturalReadConverter;
+    private DisqualifiedCorporateOfficerWriteConverter corporateWriteConverter;
+    private Document naturalDocument;
+    private CorporateDisqualificationApi corporate;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = BenchmarkFixtures.mongoObjectMapper();
+        naturalReadConverter = new DisqualifiedNaturalOfficerReadConverter(objectMapper);
+        corporateWriteConverter = new DisqualifiedCorporateOfficerWriteConverter(objectMapper);
+
+        ObjectMapper requestObjectMapper = BenchmarkFixtures.requestObjectMapper();
+        NaturalDisqualificationApi natural = requestObjectMapper.readValue(
+                BenchmarkFixtures.naturalJson(disqualifications, disqualifications),
+                NaturalDisqualificationApi.class);
+        naturalDocument = Document.parse(new DisqualifiedNaturalOfficerWriteConverter(objectMapper).convert(natural)
+                .toJson(JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build()));
+        corporate = requestObjectMapper.readValue(BenchmarkFixtures.corporateJson(disqualifications),
+                CorporateDisqualificationApi.class);
+    }
+
+    @Benchmark
+    public NaturalDisqualificationApi readNatural() {
+        return naturalReadConverter.convert(naturalDocument);
+    }
+
+    @Benchmark
+    public NaturalDisqualificationApi readNaturalViaJsonText() throws Exception {
+        return objectMapper.readValue(naturalDocument.toJson(), NaturalDisqualificationApi.class);
+    }
+
+    @Benchmark
+    public BasicDBObject writeCorporate() {
+        return corporateWriteConverter.convert(corporate);
+    }
+
+    @Benchmark
+    public BasicDBObject writeCorporateViaJsonText() throws Exception {
+        return BasicDBObject.parse(objectMapper.writeValueAsString(corporate));
+    }
+}
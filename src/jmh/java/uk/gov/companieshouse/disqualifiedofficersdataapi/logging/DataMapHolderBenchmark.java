@@ -0,0 +1,59 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.logging;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import uk.gov.companieshouse.logging.util.DataMap.Builder;
+
+/**
+ * The log context calls of a PUT request: the filter initialises it, the controller adds the officer id, the
+ * service adds the officer type, and five log calls and the chs-kafka-api request id read it.
+ * {@link #putRequestRebuildingLogMap} rebuilds the map on every read, as {@link DataMapHolder} did before it
+ * cached the map.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataMapHolderBenchmark {
+
+    private static final int LOG_CALLS = 5;
+
+    @Benchmark
+    public void putRequest(Blackhole blackhole) {
+        DataMapHolder.initialise("request_id");
+        DataMapHolder.get().officerId("officer_id");
+        blackhole.consume(DataMapHolder.getLogMap());
+        DataMapHolder.get().officerType("natural");
+        for (int i = 1; i < LOG_CALLS; i++) {
+            blackhole.consume(DataMapHolder.getLogMap());
+        }
+        blackhole.consume(DataMapHolder.getRequestId());
+        DataMapHolder.clear();
+    }
+
+    @Benchmark
+    public void putRequestRebuildingLogMap(Blackhole blackhole) {
+        Builder builder = new Builder().requestId("uninitialised");
+        builder.requestId("request_id");
+        builder.officerId("officer_id");
+        blackhole.consume(builder.build().getLogMap());
+        builder.officerType("natural");
+        for (int i = 1; i < LOG_CALLS; i++) {
+            blackhole.consume(builder.build().getLogMap());
+        }
+        Map<String, Object> logMap = builder.build().getLogMap();
+        blackhole.consume(logMap.get("request_id"));
+    }
+}
@@ -0,0 +1,66 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the DateTimeFormatter delta_at path with {@link DeltaAtCodec}. Run with the gc profiler
+ * (make benchmark) to see allocation per operation alongside the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeltaAtBenchmark {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSSSSS");
+
+    private String requestDeltaAt = "20240925171003950844";
+    private String documentDeltaAt = "20230925171003950844";
+    private OffsetDateTime deltaAt = OffsetDateTime.of(2024, 9, 25, 17, 10, 3, 950844000, ZoneOffset.UTC);
+    private final DeltaAtHandler deltaAtHandler = new DeltaAtHandler();
+
+    @Benchmark
+    public boolean isRequestStaleWithDateTimeFormatter() {
+        return DateConverter.deltaAtToOffsetDateTime(requestDeltaAt)
+                .isBefore(DateConverter.deltaAtToOffsetDateTime(documentDeltaAt));
+    }
+
+    @Benchmark
+    public boolean isRequestStaleWithCodec() {
+        return deltaAtHandler.isRequestStale(requestDeltaAt, documentDeltaAt);
+    }
+
+    @Benchmark
+    public String formatWithDateTimeFormatter() {
+        return FORMATTER.format(deltaAt);
+    }
+
+    @Benchmark
+    public String formatWithCodec() {
+        return DeltaAtCodec.format(deltaAt);
+    }
+
+    @Benchmark
+    public long epochMicrosWithLocalDateTime() {
+        return deltaAt.toLocalDateTime().toEpochSecond(ZoneOffset.UTC) * 1_000_000L + deltaAt.getNano() / 1_000;
+    }
+
+    @Benchmark
+    public long epochMicrosWithCodec() {
+        return DeltaAtCodec.toEpochMicros(deltaAt);
+    }
+}
@@ -0,0 +1,61 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.transform;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.companieshouse.api.disqualification.InternalCorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.BenchmarkFixtures;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.FeatureFlags;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DisqualificationTransformerBenchmark {
+
+    @Param({"1", "200"})
+    private int disqualifications;
+
+    @Param({"false", "true"})
+    private boolean precomputedResponse;
+
+    private DisqualificationTransformer transformer;
+    private InternalNaturalDisqualificationApi natural;
+    private InternalCorporateDisqualificationApi corporate;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = BenchmarkFixtures.requestObjectMapper();
+        transformer = new DisqualificationTransformer(objectMapper,
+                new FeatureFlags(true, false, precomputedResponse));
+        natural = objectMapper.readValue(BenchmarkFixtures.internalJson(
+                BenchmarkFixtures.naturalJson(disqualifications, disqualifications)),
+                InternalNaturalDisqualificationApi.class);
+        corporate = objectMapper.readValue(BenchmarkFixtures.internalJson(
+                BenchmarkFixtures.corporateJson(disqualifications)), InternalCorporateDisqualificationApi.class);
+    }
+
+    @Benchmark
+    public DisqualificationDocument transformNatural() {
+        return transformer.transformNaturalDisqualifiedOfficer(BenchmarkFixtures.OFFICER_ID, natural);
+    }
+
+    @Benchmark
+    public DisqualificationDocument transformCorporate() {
+        return transformer.transformCorporateDisqualifiedOfficer(BenchmarkFixtures.OFFICER_ID, corporate);
+    }
+}
@@ -2,7 +2,10 @@ package uk.gov.companieshouse.disqualifiedofficersdataapi.api;
 
 import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
 
-import org.springframework.beans.factory.annotation.Value;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.api.InternalApiClient;
 import uk.gov.companieshouse.api.chskafka.ChangedResource;
@@ -16,22 +19,23 @@ import uk.gov.companieshouse.logging.LoggerFactory;
 import java.util.function.Function;
 
 @Service
-public class DisqualifiedOfficerApiService {
+public class DisqualifiedOfficerApiService implements MeterBinder {
 
+    static final String METRIC_NAME = "chs.kafka.api.calls";
     private static final String CHANGED_RESOURCE_URI = "/private/resource-changed";
     private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
-    private final String chsKafkaUrl;
-    private final ApiClientService apiClientService;
+    private final InternalApiClientPool internalApiClientPool;
     private final Function<ResourceChangedRequest, ChangedResource> mapper;
 
+    private volatile Timer successTimer;
+    private volatile Timer errorTimer;
+
     /**
      * Invoke API.
      */
-    public DisqualifiedOfficerApiService(@Value("${chs.kafka.api.endpoint}") String chsKafkaUrl,
-            ApiClientService apiClientService,
+    public DisqualifiedOfficerApiService(InternalApiClientPool internalApiClientPool,
             Function<ResourceChangedRequest, ChangedResource> mapper) {
-        this.chsKafkaUrl = chsKafkaUrl;
-        this.apiClientService = apiClientService;
+        this.internalApiClientPool = internalApiClientPool;
         this.mapper = mapper;
     }
 
@@ -42,24 +46,67 @@ public class DisqualifiedOfficerApiService {
      * @return the response from the kafka api
      */
     public ApiResponse<Void> invokeChsKafkaApi(ResourceChangedRequest resourceChangedRequest) {
-        InternalApiClient internalApiClient = apiClientService.getInternalApiClient();
-        internalApiClient.setBasePath(chsKafkaUrl);
-        internalApiClient.getHttpClient().setRequestId(DataMapHolder.getRequestId());
+        return postChangedResource(resourceChangedRequest);
+    }
+
+    /**
+     * Calls the CHS Kafka api directly, for the outbox dispatcher. Unlike {@link #invokeChsKafkaApi} this is
+     * not redirected to the outbox.
+     * @param resourceChangedRequest encapsulates details relating to the updated or deleted officer
+     * @return the response from the kafka api
+     */
+    public ApiResponse<Void> postChangedResource(ResourceChangedRequest resourceChangedRequest) {
+        ChangedResource changedResource = mapper.apply(resourceChangedRequest);
+        InternalApiClient internalApiClient = internalApiClientPool.borrow();
+        boolean completed = false;
+        try {
+            internalApiClient.getHttpClient().setRequestId(DataMapHolder.getRequestId());
 
-        PrivateChangedResourcePost changedResourcePost =
-                internalApiClient.privateChangedResourceHandler().postChangedResource(
-                        CHANGED_RESOURCE_URI, mapper.apply(resourceChangedRequest));
+            PrivateChangedResourcePost changedResourcePost =
+                    internalApiClient.privateChangedResourceHandler().postChangedResource(
+                            CHANGED_RESOURCE_URI, changedResource);
 
-        return handleApiCall(changedResourcePost);
+            ApiResponse<Void> response = handleApiCall(changedResourcePost);
+            completed = true;
+            return response;
+        } finally {
+            if (completed) {
+                internalApiClientPool.release(internalApiClient);
+            } else {
+                internalApiClientPool.discard(internalApiClient);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        successTimer = callTimer("success").register(registry);
+        errorTimer = callTimer("error").register(registry);
     }
 
     private ApiResponse<Void> handleApiCall(PrivateChangedResourcePost changedResourcePost) {
+        long start = System.nanoTime();
+        boolean succeeded = false;
         try {
-            return changedResourcePost.execute();
+            ApiResponse<Void> response = changedResourcePost.execute();
+            succeeded = true;
+            return response;
         } catch (ApiErrorResponseException ex) {
             DataMapHolder.get().status(Integer.toString(ex.getStatusCode()));
             LOGGER.info("Resource changed call failed: %s".formatted(ex.getStatusCode()), DataMapHolder.getLogMap());
             throw new BadGatewayException("Error calling resource changed endpoint");
+        } finally {
+            Timer timer = succeeded ? successTimer : errorTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
             }
         }
+    }
+
+    private static Timer.Builder callTimer(String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .description("Time taken by resource changed calls to chs-kafka-api, by outcome")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram();
+    }
 }
@@ -17,14 +17,20 @@ public class DisqualifiedOfficerApiServiceAspect {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
     private final FeatureFlags featureFlags;
+    private final ResourceChangedOutbox outbox;
 
-    public DisqualifiedOfficerApiServiceAspect(FeatureFlags featureFlags) {
+    public DisqualifiedOfficerApiServiceAspect(FeatureFlags featureFlags, ResourceChangedOutbox outbox) {
         this.featureFlags = featureFlags;
+        this.outbox = outbox;
     }
 
     @Around("execution(public uk.gov.companieshouse.api.model.ApiResponse<Void> uk.gov.companieshouse.disqualifiedofficersdataapi.api.DisqualifiedOfficerApiService.invokeChsKafkaApi(..))")
     Object invokeChsKafkaApi(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
-        if (featureFlags.isStreamHookEnabled()) {
+        if (featureFlags.isStreamHookEnabled() && featureFlags.isResourceChangedOutboxEnabled()) {
+            LOGGER.debug("Stream hook enabled; queueing change for chs-kafka-api", DataMapHolder.getLogMap());
+            outbox.enqueue((ResourceChangedRequest) proceedingJoinPoint.getArgs()[0]);
+            return null;
+        } else if (featureFlags.isStreamHookEnabled()) {
             LOGGER.debug("Stream hook enabled; publishing change to chs-kafka-api", DataMapHolder.getLogMap());
             return proceedingJoinPoint.proceed();
         } else {
@@ -0,0 +1,138 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.api;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.api.InternalApiClient;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
+
+/**
+ * Bounded pool of internal api clients configured for chs-kafka-api.
+ * <p>
+ * Clients are created on demand up to the maximum size with the chs-kafka-api base path already set, and are
+ * reused for the life of the application so their HTTP transport keeps its connections alive. A borrowed client
+ * is held by one caller at a time, which may set per request state such as the request id before releasing it.
+ * A client whose call failed may be left with that state half applied, so it is discarded rather than released
+ * and a fresh client is created in its place on a later borrow.
+ */
+@Component
+public class InternalApiClientPool implements MeterBinder {
+
+    static final String METRIC_PREFIX = "chs.kafka.api.client.pool";
+
+    private final ApiClientService apiClientService;
+    private final String chsKafkaUrl;
+    private final int maximumSize;
+    private final long borrowTimeoutMillis;
+    private final BlockingQueue<InternalApiClient> idle;
+    private final AtomicInteger created = new AtomicInteger();
+
+    private volatile Timer borrowTimer;
+    private volatile Counter borrowTimeouts;
+    private volatile Counter discards;
+
+    public InternalApiClientPool(ApiClientService apiClientService,
+            @Value("${chs.kafka.api.endpoint}") String chsKafkaUrl,
+            @Value("${chs.kafka.api.client-pool.maximum-size}") int maximumSize,
+            @Value("${chs.kafka.api.client-pool.borrow-timeout-millis}") long borrowTimeoutMillis) {
+        this.apiClientService = apiClientService;
+        this.chsKafkaUrl = chsKafkaUrl;
+        this.maximumSize = maximumSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idle = new ArrayBlockingQueue<>(maximumSize);
+    }
+
+    /**
+     * Takes an idle client, creating one if the pool is not full, or else waits for one to be released.
+     *
+     * @return a client for the caller's exclusive use until {@link #release(InternalApiClient)} or
+     *         {@link #discard(InternalApiClient)}
+     * @throws BadGatewayException if no client is released within the borrow timeout
+     */
+    public InternalApiClient borrow() {
+        long start = System.nanoTime();
+        try {
+            InternalApiClient client = idle.poll();
+            if (client != null) {
+                return client;
+            }
+            if (created.getAndUpdate(count -> count < maximumSize ? count + 1 : count) < maximumSize) {
+                return create();
+            }
+            client = idle.poll(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+            if (client == null) {
+                if (borrowTimeouts != null) {
+                    borrowTimeouts.increment();
+                }
+                throw new BadGatewayException("Timed out waiting for a chs-kafka-api client");
+            }
+            return client;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BadGatewayException("Interrupted waiting for a chs-kafka-api client", ex);
+        } finally {
+            if (borrowTimer != null) {
+                borrowTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Returns a borrowed client to the pool.
+     */
+    public void release(InternalApiClient client) {
+        idle.offer(client);
+    }
+
+    /**
+     * Drops a borrowed client whose call failed, freeing its slot so the next borrow that finds no idle client
+     * creates a new one.
+     */
+    public void discard(InternalApiClient client) {
+        created.decrementAndGet();
+        if (discards != null) {
+            discards.increment();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(METRIC_PREFIX + ".created", created, AtomicInteger::get)
+                .description("chs-kafka-api clients created")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".idle", idle, BlockingQueue::size)
+                .description("chs-kafka-api clients waiting to be borrowed")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".maximum", () -> maximumSize)
+                .description("Maximum chs-kafka-api clients")
+                .register(registry);
+        borrowTimeouts = Counter.builder(METRIC_PREFIX + ".borrow.timeouts")
+                .description("Borrows that timed out waiting for a chs-kafka-api client")
+                .register(registry);
+        discards = Counter.builder(METRIC_PREFIX + ".discards")
+                .description("chs-kafka-api clients dropped after a failed call")
+                .register(registry);
+        borrowTimer = Timer.builder(METRIC_PREFIX + ".borrow")
+                .description("Time taken to borrow a chs-kafka-api client")
+                .register(registry);
+    }
+
+    private InternalApiClient create() {
+        try {
+            InternalApiClient client = apiClientService.getInternalApiClient();
+            client.setBasePath(chsKafkaUrl);
+            return client;
+        } catch (RuntimeException ex) {
+            created.decrementAndGet();
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.api;
+
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.SerDesException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ResourceChangedOutboxEntry;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.ResourceChangedOutboxRepository;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Writes resource changed notifications to the outbox collection for {@link ResourceChangedOutboxDispatcher}
+ * to send to chs-kafka-api.
+ */
+@Component
+public class ResourceChangedOutbox {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+
+    private final ResourceChangedOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public ResourceChangedOutbox(ResourceChangedOutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Queue a notification that a disqualification has changed or been deleted.
+     *
+     * @param request encapsulates details relating to the updated or deleted officer
+     */
+    public void enqueue(ResourceChangedRequest request) {
+        Instant now = Instant.now();
+        ResourceChangedOutboxEntry entry = new ResourceChangedOutboxEntry()
+                .setOfficerId(request.getOfficerId())
+                .setOfficerType(request.getType())
+                .setContextId(request.getContextId())
+                .setDelete(Boolean.TRUE.equals(request.getIsDelete()))
+                .setDeletedData(toJson(request.getDisqualificationData()))
+                .setCreatedAt(now)
+                .setNextAttemptAt(now);
+        try {
+            outboxRepository.insert(entry);
+        } catch (DataAccessException ex) {
+            LOGGER.error("MongoDB error when writing resource changed outbox entry", ex, DataMapHolder.getLogMap());
+            throw new BadGatewayException("MongoDB error when writing resource changed outbox entry", ex);
+        }
+    }
+
+    private String toJson(Object data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException ex) {
+            throw new SerDesException("Failed to serialise data", ex);
+        }
+    }
+}
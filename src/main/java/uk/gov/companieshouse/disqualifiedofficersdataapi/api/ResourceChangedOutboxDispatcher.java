@@ -0,0 +1,310 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.api;
+
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.SerDesException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ResourceChangedOutboxEntry;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.ResourceChangedOutboxRepository;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Sends resource changed outbox entries to chs-kafka-api in the background.
+ * <p>
+ * Each poll reads the oldest entries that are ready to send and sends them in order per officer id, with
+ * different officers sent in parallel. An entry that is leased by another dispatcher or backing off after a
+ * failure holds back the later entries for the same officer, found with one query on the officers in the poll.
+ * Entries are leased before sending and deleted after, so a dispatcher that dies mid send leaves the entry to be
+ * sent again once the lease expires. An entry that cannot be read, or fails {@code maximum-attempts} times, is
+ * parked: it stays in the collection but is not sent again. Sends run on virtual threads when the application is
+ * running in virtual thread mode.
+ */
+@Component
+public class ResourceChangedOutboxDispatcher implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+    private static final String CREATED_AT = "created_at";
+    private static final String OFFICER_ID = "officer_id";
+    private static final String PARKED_AT = "parked_at";
+    private static final Comparator<ResourceChangedOutboxEntry> WRITE_ORDER = Comparator
+            .comparing(ResourceChangedOutboxEntry::getCreatedAt)
+            .thenComparing(ResourceChangedOutboxEntry::getId);
+    private static final int MAXIMUM_WINDOWS = 10;
+
+    private final ResourceChangedOutboxRepository outboxRepository;
+    private final DisqualifiedOfficerApiService disqualifiedOfficerApiService;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int concurrency;
+    private final long pollMillis;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maximumBackoff;
+    private final int maximumAttempts;
+    private final boolean virtualThreads;
+    private final String owner = UUID.randomUUID().toString();
+
+    private volatile Counter parked;
+
+    private ExecutorService executor;
+    private Thread poller;
+
+    public ResourceChangedOutboxDispatcher(ResourceChangedOutboxRepository outboxRepository,
+            DisqualifiedOfficerApiService disqualifiedOfficerApiService, MongoTemplate mongoTemplate,
+            ObjectMapper objectMapper,
+            @Value("${resource-changed.outbox.enabled}") boolean enabled,
+            @Value("${resource-changed.outbox.batch-size}") int batchSize,
+            @Value("${resource-changed.outbox.concurrency}") int concurrency,
+            @Value("${resource-changed.outbox.poll-millis}") long pollMillis,
+            @Value("${resource-changed.outbox.lease-seconds}") long leaseSeconds,
+            @Value("${resource-changed.outbox.initial-backoff-millis}") long initialBackoffMillis,
+            @Value("${resource-changed.outbox.maximum-backoff-millis}") long maximumBackoffMillis,
+            @Value("${resource-changed.outbox.maximum-attempts}") int maximumAttempts,
+            @Value("${spring.threads.virtual.enabled}") boolean virtualThreads) {
+        this.outboxRepository = outboxRepository;
+        this.disqualifiedOfficerApiService = disqualifiedOfficerApiService;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.pollMillis = pollMillis;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.initialBackoff = Duration.ofMillis(initialBackoffMillis);
+        this.maximumBackoff = Duration.ofMillis(maximumBackoffMillis);
+        this.maximumAttempts = maximumAttempts;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (enabled) {
+            mongoTemplate.indexOps(ResourceChangedOutboxEntry.class)
+                    .ensureIndex(new Index().on(CREATED_AT, Sort.Direction.ASC).named(CREATED_AT));
+            mongoTemplate.indexOps(ResourceChangedOutboxEntry.class)
+                    .ensureIndex(new Index().on(PARKED_AT, Sort.Direction.ASC).on(CREATED_AT, Sort.Direction.ASC)
+                            .named(PARKED_AT + "_" + CREATED_AT));
+            mongoTemplate.indexOps(ResourceChangedOutboxEntry.class)
+                    .ensureIndex(new Index().on(OFFICER_ID, Sort.Direction.ASC).on(CREATED_AT, Sort.Direction.ASC)
+                            .named(OFFICER_ID + "_" + CREATED_AT));
+            Thread.Builder senders = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+            executor = Executors.newFixedThreadPool(concurrency,
+                    senders.name("resource-changed-outbox-", 0).factory());
+            poller = Thread.ofPlatform().name("resource-changed-outbox").daemon().start(this::poll);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (poller != null) {
+            poller.interrupt();
+            executor.shutdownNow();
+        }
+    }
+
+    private void poll() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (dispatch() == 0) {
+                    Thread.sleep(pollMillis);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (DataAccessException ex) {
+                LOGGER.error("MongoDB error when reading resource changed outbox", ex);
+                sleepQuietly();
+            }
+        }
+        LOGGER.info("Resource changed outbox dispatcher stopped");
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        parked = Counter.builder("resource.changed.outbox.parked")
+                .description("Resource changed outbox entries given up on and parked")
+                .register(registry);
+    }
+
+    /**
+     * Send the oldest ready entries in the outbox.
+     *
+     * @return the number of entries sent
+     */
+    int dispatch() throws InterruptedException {
+        Collection<List<ResourceChangedOutboxEntry>> runs = findRuns(Instant.now());
+        if (runs.isEmpty()) {
+            return 0;
+        }
+
+        List<Callable<Integer>> tasks = new ArrayList<>(runs.size());
+        for (List<ResourceChangedOutboxEntry> run : runs) {
+            tasks.add(() -> sendInOrder(run));
+        }
+        int sent = 0;
+        for (Future<Integer> result : executor.invokeAll(tasks)) {
+            try {
+                sent += result.get();
+            } catch (ExecutionException ex) {
+                LOGGER.error("Error sending resource changed outbox entries", ex);
+            }
+        }
+        return sent;
+    }
+
+    /**
+     * Read windows of ready entries until one has an entry that can be sent. A full window held back entirely
+     * behind blocked entries is skipped by leaving its officers out of the next read, so those officers cannot
+     * crowd out the rest of the outbox.
+     */
+    Collection<List<ResourceChangedOutboxEntry>> findRuns(Instant now) {
+        Set<String> heldBack = new HashSet<>();
+        for (int window = 0; window < MAXIMUM_WINDOWS; window++) {
+            List<ResourceChangedOutboxEntry> ready = outboxRepository.findReady(now, batchSize, heldBack);
+            if (ready.isEmpty()) {
+                break;
+            }
+            List<String> officerIds = ready.stream().map(ResourceChangedOutboxEntry::getOfficerId).distinct()
+                    .toList();
+            Collection<List<ResourceChangedOutboxEntry>> runs = readyRuns(ready,
+                    outboxRepository.findBlocked(officerIds, now));
+            if (!runs.isEmpty() || ready.size() < batchSize) {
+                return runs;
+            }
+            heldBack.addAll(officerIds);
+        }
+        return List.of();
+    }
+
+    /**
+     * Group the ready entries by officer id, oldest first, leaving out every entry written after a leased or
+     * backing off entry for the same officer.
+     *
+     * @param ready   ready entries in the order they were written
+     * @param blocked leased or backing off entries for the same officers, in the order they were written
+     */
+    static Collection<List<ResourceChangedOutboxEntry>> readyRuns(List<ResourceChangedOutboxEntry> ready,
+            List<ResourceChangedOutboxEntry> blocked) {
+        Map<String, ResourceChangedOutboxEntry> firstBlocked = new HashMap<>();
+        for (ResourceChangedOutboxEntry entry : blocked) {
+            firstBlocked.putIfAbsent(entry.getOfficerId(), entry);
+        }
+        Map<String, List<ResourceChangedOutboxEntry>> runs = new LinkedHashMap<>();
+        for (ResourceChangedOutboxEntry entry : ready) {
+            ResourceChangedOutboxEntry blocker = firstBlocked.get(entry.getOfficerId());
+            if (blocker == null || WRITE_ORDER.compare(entry, blocker) < 0) {
+                runs.computeIfAbsent(entry.getOfficerId(), key -> new ArrayList<>()).add(entry);
+            }
+        }
+        return runs.values();
+    }
+
+    /**
+     * Send one officer's entries oldest first, stopping at the first that cannot be leased or sent.
+     */
+    int sendInOrder(List<ResourceChangedOutboxEntry> run) {
+        int sent = 0;
+        for (ResourceChangedOutboxEntry entry : run) {
+            Instant now = Instant.now();
+            if (!outboxRepository.claim(entry.getId(), owner, now, now.plus(lease))) {
+                return sent;
+            }
+            DataMapHolder.initialise(entry.getContextId());
+            DataMapHolder.get().officerId(entry.getOfficerId());
+            try {
+                disqualifiedOfficerApiService.postChangedResource(toRequest(entry));
+            } catch (SerDesException ex) {
+                LOGGER.error("Resource changed outbox entry cannot be read; parking it", ex,
+                        DataMapHolder.getLogMap());
+                park(entry, entry.getAttempts() + 1);
+                continue;
+            } catch (RuntimeException ex) {
+                int attempts = entry.getAttempts() + 1;
+                if (attempts >= maximumAttempts) {
+                    LOGGER.error("Resource changed call failed on final attempt %d; parking entry"
+                            .formatted(attempts), ex, DataMapHolder.getLogMap());
+                    park(entry, attempts);
+                    continue;
+                }
+                LOGGER.error("Resource changed call failed on attempt %d".formatted(attempts), ex,
+                        DataMapHolder.getLogMap());
+                outboxRepository.reschedule(entry.getId(), owner, attempts, Instant.now().plus(backoff(attempts)));
+                return sent;
+            } finally {
+                DataMapHolder.clear();
+            }
+            outboxRepository.complete(entry.getId(), owner);
+            sent++;
+        }
+        return sent;
+    }
+
+    /**
+     * A parked entry no longer holds back the officer's later entries, so the run carries on after it.
+     */
+    private void park(ResourceChangedOutboxEntry entry, int attempts) {
+        outboxRepository.park(entry.getId(), owner, attempts, Instant.now());
+        if (parked != null) {
+            parked.increment();
+        }
+    }
+
+    Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 30));
+        return backoff.compareTo(maximumBackoff) > 0 ? maximumBackoff : backoff;
+    }
+
+    private ResourceChangedRequest toRequest(ResourceChangedOutboxEntry entry) {
+        Object deletedData = null;
+        if (entry.getDeletedData() != null) {
+            try {
+                deletedData = objectMapper.readValue(entry.getDeletedData(), Object.class);
+            } catch (JsonProcessingException ex) {
+                throw new SerDesException("Failed to deserialise data", ex);
+            }
+        }
+        return new ResourceChangedRequest(entry.getContextId(), entry.getOfficerId(), entry.getOfficerType(),
+                deletedData, entry.isDelete());
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
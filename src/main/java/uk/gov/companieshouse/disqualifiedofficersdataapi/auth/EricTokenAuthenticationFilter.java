@@ -54,11 +54,18 @@ public class EricTokenAuthenticationFilter extends OncePerRequestFilter {
     private boolean isKeyAuthorised(HttpServletRequest request, String ericIdentityType) {
         String[] privileges = getApiKeyPrivileges(request);
 
-        return request.getMethod().equals("GET")
+        return (request.getMethod().equals("GET") && !isInternal(request))
                 || (ericIdentityType.equalsIgnoreCase("Key")
                 && ArrayUtils.contains(privileges, "internal-app"));
     }
 
+    /**
+     * Internal GETs such as the export need the same internal-app key as writes.
+     */
+    private static boolean isInternal(HttpServletRequest request) {
+        return StringUtils.endsWith(request.getRequestURI(), "/internal");
+    }
+
     private String[] getApiKeyPrivileges(HttpServletRequest request) {
         String commaSeparatedPrivilegeString = request.getHeader("ERIC-Authorised-Key-Privileges");
 
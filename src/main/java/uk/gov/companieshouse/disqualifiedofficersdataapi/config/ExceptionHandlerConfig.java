@@ -12,6 +12,7 @@ import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.ConflictException;
@@ -122,7 +123,8 @@ public class ExceptionHandlerConfig {
      * @return error response to return.
      */
     @ExceptionHandler(value = {BadRequestException.class, DateTimeParseException.class,
-            HttpMessageNotReadableException.class, MissingRequestHeaderException.class})
+            HttpMessageNotReadableException.class, MissingRequestHeaderException.class,
+            MethodArgumentTypeMismatchException.class})
     public ResponseEntity<Object> handleBadRequestException(Exception ex, WebRequest request) {
         String msg = "Bad request";
         if (StringUtils.isBlank(request.getHeader("x-delta-at"))) {
@@ -7,12 +7,26 @@ import org.springframework.stereotype.Component;
 public class FeatureFlags {
 
     private final boolean streamHookEnabled;
+    private final boolean resourceChangedOutboxEnabled;
+    private final boolean precomputedResponseEnabled;
 
-    public FeatureFlags(@Value("${chs.kafka.api.enabled}") boolean streamHookEnabled) {
+    public FeatureFlags(@Value("${chs.kafka.api.enabled}") boolean streamHookEnabled,
+            @Value("${resource-changed.outbox.enabled}") boolean resourceChangedOutboxEnabled,
+            @Value("${precomputed-response.enabled}") boolean precomputedResponseEnabled) {
         this.streamHookEnabled = streamHookEnabled;
+        this.resourceChangedOutboxEnabled = resourceChangedOutboxEnabled;
+        this.precomputedResponseEnabled = precomputedResponseEnabled;
     }
 
     public boolean isStreamHookEnabled() {
         return streamHookEnabled;
     }
+
+    public boolean isResourceChangedOutboxEnabled() {
+        return resourceChangedOutboxEnabled;
+    }
+
+    public boolean isPrecomputedResponseEnabled() {
+        return precomputedResponseEnabled;
+    }
 }
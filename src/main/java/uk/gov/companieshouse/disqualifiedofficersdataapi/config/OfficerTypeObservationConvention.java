@@ -0,0 +1,42 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+
+/**
+ * Adds an officer_type tag to the http.server.requests metrics, so GET, PUT and DELETE latency can be split
+ * between natural and corporate officers as well as by outcome. Requests not for one officer type are tagged
+ * none.
+ */
+@Component
+public class OfficerTypeObservationConvention extends DefaultServerRequestObservationConvention {
+
+    static final String OFFICER_TYPE = "officer_type";
+    static final String NONE = "none";
+
+    private static final String PATH_PREFIX = "/disqualified-officers/";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+                .and(KeyValue.of(OFFICER_TYPE, officerType(context.getCarrier().getRequestURI())));
+    }
+
+    static String officerType(String requestUri) {
+        if (requestUri == null || !requestUri.startsWith(PATH_PREFIX)) {
+            return NONE;
+        }
+        int end = requestUri.indexOf('/', PATH_PREFIX.length());
+        String segment = requestUri.substring(PATH_PREFIX.length(), end < 0 ? requestUri.length() : end);
+        for (DisqualificationResourceType type : DisqualificationResourceType.values()) {
+            if (type.getOfficerType().equals(segment)) {
+                return type.getOfficerType();
+            }
+        }
+        return NONE;
+    }
+}
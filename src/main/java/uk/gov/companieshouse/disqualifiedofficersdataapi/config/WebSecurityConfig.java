@@ -1,5 +1,6 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -40,9 +41,17 @@ public class WebSecurityConfig {
                 .build();
     }
 
+    /**
+     * Leave the health check on the application port, and every actuator endpoint on the separate management
+     * port, outside ERIC authentication. Metrics are served only on the management port, which is not routed
+     * from outside the service's network.
+     */
     @Bean
-    public WebSecurityCustomizer webSecurityCustomizer() {
-        return web -> web.ignoring().requestMatchers("/healthcheck");
+    public WebSecurityCustomizer webSecurityCustomizer(@Value("${server.port:8080}") int serverPort,
+            @Value("${management.server.port}") int managementPort) {
+        return web -> web.ignoring()
+                .requestMatchers("/healthcheck")
+                .requestMatchers(request -> managementPort != serverPort && request.getLocalPort() == managementPort);
     }
 
     @Bean
@@ -2,25 +2,49 @@ package uk.gov.companieshouse.disqualifiedofficersdataapi.controller;
 
 import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
 
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi.KindEnum;
 import uk.gov.companieshouse.api.disqualification.InternalCorporateDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkDeleteItem;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkDisqualificationItem;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkDisqualificationResult;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DeleteRequestParameters;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationBatch;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationChanges;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ExportFilter;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DeleteDisqualifiedOfficerService;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DeltaAtCodec;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DisqualificationChangeFeedService;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DisqualificationExportService;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DisqualificationResponseCache;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DisqualificationResponseCache.CachedResponse;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DisqualifiedOfficerService;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
@@ -29,13 +53,27 @@ import uk.gov.companieshouse.logging.LoggerFactory;
 public class DisqualifiedOfficerController {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+    private static final String NDJSON = "application/x-ndjson";
     private final DisqualifiedOfficerService service;
     private final DeleteDisqualifiedOfficerService deleteService;
+    private final DisqualificationExportService exportService;
+    private final DisqualificationChangeFeedService changeFeedService;
+    private final DisqualificationResponseCache responseCache;
+    private final int bulkMaximumItems;
+    private final int batchMaximumItems;
 
     public DisqualifiedOfficerController(DisqualifiedOfficerService service,
-            DeleteDisqualifiedOfficerService deleteService) {
+            DeleteDisqualifiedOfficerService deleteService, DisqualificationExportService exportService,
+            DisqualificationChangeFeedService changeFeedService, DisqualificationResponseCache responseCache,
+            @Value("${bulk.maximum-items}") int bulkMaximumItems,
+            @Value("${batch.maximum-items}") int batchMaximumItems) {
         this.service = service;
         this.deleteService = deleteService;
+        this.exportService = exportService;
+        this.changeFeedService = changeFeedService;
+        this.responseCache = responseCache;
+        this.bulkMaximumItems = bulkMaximumItems;
+        this.batchMaximumItems = batchMaximumItems;
     }
 
     /**
@@ -81,44 +119,182 @@ public class DisqualifiedOfficerController {
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
+    /**
+     * PUT request to save or update a batch of natural and corporate Disqualified Officers.
+     *
+     * @param requestBody the deltas, each with an officer_type, officer_id and data
+     * @return the status of each delta, in request order
+     */
+    @PutMapping("/disqualified-officers/bulk/internal")
+    public ResponseEntity<List<BulkDisqualificationResult>> bulkDisqualifiedOfficers(
+            @RequestHeader("x-request-id") String contextId,
+            @RequestBody List<BulkDisqualificationItem> requestBody) {
+        LOGGER.info("Processing bulk PUT disqualified officers request", DataMapHolder.getLogMap());
+        if (requestBody.size() > bulkMaximumItems) {
+            throw new BadRequestException("Bulk request exceeds %d items".formatted(bulkMaximumItems));
+        }
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(service.processBulkDisqualifications(contextId, requestBody));
+    }
+
+    /**
+     * Delete a batch of natural and corporate Disqualified Officers.
+     *
+     * @param requestBody the deletes, each with an officer_type, officer_id and delta_at
+     * @return the status of each delete, in request order
+     */
+    @PostMapping("/disqualified-officers/bulk/delete/internal")
+    public ResponseEntity<List<BulkDisqualificationResult>> bulkDeleteDisqualifiedOfficers(
+            @RequestHeader("x-request-id") String contextId,
+            @RequestBody List<BulkDeleteItem> requestBody) {
+        LOGGER.info("Processing bulk DELETE disqualified officers request", DataMapHolder.getLogMap());
+        if (requestBody.size() > bulkMaximumItems) {
+            throw new BadRequestException("Bulk request exceeds %d items".formatted(bulkMaximumItems));
+        }
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(deleteService.processBulkDeletions(contextId, requestBody));
+    }
+
+    /**
+     * Export every natural and corporate Disqualified Officer as newline delimited JSON, written to the response
+     * as it is read and ending with a trailer line only if the export completed.
+     *
+     * @param updatedFrom earliest updated.at to include, if any
+     * @param updatedTo   updated.at to stop before, if any
+     * @param deltaAtFrom earliest delta_at to include, if any
+     * @param deltaAtTo   delta_at to stop before, if any
+     * @param response    the response to stream to
+     */
+    @GetMapping("/disqualified-officers/export/internal")
+    public void exportDisqualifiedOfficers(
+            @RequestParam(value = "updated_from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedFrom,
+            @RequestParam(value = "updated_to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedTo,
+            @RequestParam(value = "delta_at_from", required = false) String deltaAtFrom,
+            @RequestParam(value = "delta_at_to", required = false) String deltaAtTo,
+            HttpServletResponse response) throws IOException {
+        LOGGER.info("Processing export disqualified officers request", DataMapHolder.getLogMap());
+        // Checked before anything is written, while a bad request can still be answered with a 400
+        for (String deltaAt : new String[]{deltaAtFrom, deltaAtTo}) {
+            if (deltaAt != null) {
+                DeltaAtCodec.parseEpochMicros(deltaAt);
+            }
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON);
+        exportService.export(new ExportFilter(updatedFrom, updatedTo, deltaAtFrom, deltaAtTo),
+                response.getOutputStream());
+    }
+
+    /**
+     * Read the changes to Disqualified Officers made after a resume token, waiting briefly for one when there
+     * are none.
+     *
+     * @param resumeAfter the resume_token from the last page read, or none to start from now
+     * @param limit       the most changes to return
+     * @return the changes and the resume_token for the next page
+     */
+    @GetMapping("/disqualified-officers/changes/internal")
+    public ResponseEntity<DisqualificationChanges> disqualifiedOfficerChanges(
+            @RequestParam(value = "resume_after", required = false) String resumeAfter,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        LOGGER.info("Processing change feed request", DataMapHolder.getLogMap());
+
+        return ResponseEntity.status(HttpStatus.OK).body(changeFeedService.retrieveChanges(resumeAfter, limit));
+    }
+
     /**
      * Retrieve natural disqualified officer information for a officer ID.
      *
-     * @param officerId the officer ID for the disqualification
-     * @return NaturalDisqualificationDocument return natural disqualified officer information
+     * @param officerId  the officer ID for the disqualification
+     * @param webRequest the request, checked for a matching If-None-Match
+     * @return serialised NaturalDisqualificationApi return natural disqualified officer information, or 304
      */
     @GetMapping("/disqualified-officers/natural/{officer_id}")
-    public ResponseEntity<NaturalDisqualificationApi> naturalDisqualification(
-            @PathVariable("officer_id") final String officerId) {
+    public ResponseEntity<byte[]> naturalDisqualification(
+            @PathVariable("officer_id") final String officerId, WebRequest webRequest) {
         DataMapHolder.get().officerId(officerId);
         LOGGER.info("Retrieving natural officer disqualification information",
                 DataMapHolder.getLogMap());
 
-        NaturalDisqualificationDocument disqualification = service.retrieveNaturalDisqualification(officerId);
-        disqualification.getData().setKind(uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi
-                .KindEnum.NATURAL_DISQUALIFICATION);
+        CachedResponse response = responseCache.getIfPresent(DisqualificationResourceType.NATURAL, officerId);
+        if (response == null && isNotModified(webRequest, officerId, DisqualificationResourceType.NATURAL)) {
+            return null;
+        }
+        if (response == null) {
+            response = responseCache.get(DisqualificationResourceType.NATURAL, officerId, () -> {
+                NaturalDisqualificationDocument disqualification = service.retrieveNaturalDisqualification(
+                        officerId);
+                NaturalDisqualificationApi data = disqualification.getData();
+                if (disqualification.getResponseBody() != null) {
+                    return new CachedResponse(data.getEtag(), disqualification.getResponseBody());
+                }
+                data.setKind(NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION);
+                return responseCache.toCachedResponse(data.getEtag(), data);
+            });
+        }
 
-        return ResponseEntity.status(HttpStatus.OK).body(disqualification.getData());
+        return toResponseEntity(response);
     }
 
     /**
      * Retrieve corporate disqualified officer information for a officer ID.
      *
-     * @param officerId the officer ID for the disqualification
-     * @return CorporateDisqualificationDocument return corporate disqualified officer information
+     * @param officerId  the officer ID for the disqualification
+     * @param webRequest the request, checked for a matching If-None-Match
+     * @return serialised CorporateDisqualificationApi return corporate disqualified officer information, or 304
      */
     @GetMapping("/disqualified-officers/corporate/{officer_id}")
-    public ResponseEntity<CorporateDisqualificationApi> corporateDisqualification(
-            @PathVariable("officer_id") String officerId) {
+    public ResponseEntity<byte[]> corporateDisqualification(
+            @PathVariable("officer_id") String officerId, WebRequest webRequest) {
         DataMapHolder.get().officerId(officerId);
         LOGGER.info("Retrieving corporate officer disqualification information",
                 DataMapHolder.getLogMap());
 
-        CorporateDisqualificationDocument disqualification = service.retrieveCorporateDisqualification(
-                officerId);
-        disqualification.getData().setKind(KindEnum.CORPORATE_DISQUALIFICATION);
+        CachedResponse response = responseCache.getIfPresent(DisqualificationResourceType.CORPORATE, officerId);
+        if (response == null && isNotModified(webRequest, officerId, DisqualificationResourceType.CORPORATE)) {
+            return null;
+        }
+        if (response == null) {
+            response = responseCache.get(DisqualificationResourceType.CORPORATE, officerId, () -> {
+                CorporateDisqualificationDocument disqualification = service.retrieveCorporateDisqualification(
+                        officerId);
+                CorporateDisqualificationApi data = disqualification.getData();
+                if (disqualification.getResponseBody() != null) {
+                    return new CachedResponse(data.getEtag(), disqualification.getResponseBody());
+                }
+                data.setKind(KindEnum.CORPORATE_DISQUALIFICATION);
+                return responseCache.toCachedResponse(data.getEtag(), data);
+            });
+        }
+
+        return toResponseEntity(response);
+    }
+
+    /**
+     * Retrieve a batch of natural and corporate disqualified officers in a single read.
+     *
+     * @param naturalIds   natural officer ids, comma separated or repeated
+     * @param corporateIds corporate officer ids, comma separated or repeated
+     * @return the disqualifications found keyed by officer id, and the ids of each type not found
+     */
+    @GetMapping("/disqualified-officers/batch")
+    public ResponseEntity<DisqualificationBatch> disqualificationBatch(
+            @RequestParam(value = "natural", required = false, defaultValue = "") List<String> naturalIds,
+            @RequestParam(value = "corporate", required = false, defaultValue = "") List<String> corporateIds) {
+        LOGGER.info("Retrieving batch of disqualified officers", DataMapHolder.getLogMap());
+        int items = naturalIds.size() + corporateIds.size();
+        if (items == 0 || items > batchMaximumItems) {
+            throw new BadRequestException("Batch request must have between 1 and %d officer ids"
+                    .formatted(batchMaximumItems));
+        }
 
-        return ResponseEntity.status(HttpStatus.OK).body(disqualification.getData());
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(service.retrieveDisqualifications(naturalIds, corporateIds));
     }
 
     /**
@@ -146,4 +322,28 @@ public class DisqualifiedOfficerController {
 
         return ResponseEntity.status(HttpStatus.OK).build();
     }
+
+    /**
+     * Revalidates an uncached response against the stored etag alone, setting a 304 status and the ETag
+     * header when the If-None-Match header matches.
+     */
+    private boolean isNotModified(WebRequest webRequest, String officerId, DisqualificationResourceType type) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) == null) {
+            return false;
+        }
+        String etag = service.retrieveDisqualificationEtag(officerId, type);
+        return etag != null && webRequest.checkNotModified(etag);
+    }
+
+    /**
+     * Spring answers a matching If-None-Match with a 304 for responses carrying an ETag.
+     */
+    private static ResponseEntity<byte[]> toResponseEntity(CachedResponse response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (response.etag() != null) {
+            builder.eTag(response.etag());
+        }
+        return builder.body(response.body());
+    }
 }
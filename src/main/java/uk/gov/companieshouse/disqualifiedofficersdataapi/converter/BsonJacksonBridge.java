@@ -0,0 +1,212 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+
+/**
+ * Moves values between Jackson and MongoDB documents through a {@link TokenBuffer} rather than a JSON string.
+ * <p>
+ * The values produced are the ones the previous JSON round trip produced: reading sees the same tokens as
+ * parsing {@link Document#toJson()} (relaxed extended JSON), and writing produces the same value types as
+ * {@link BasicDBObject#parse(String)}, so stored documents are unchanged.
+ * <p>
+ * Each conversion is timed as {@value #METRIC_NAME} by direction and type. The converters are created with the
+ * mapping context, before the application's meter registry, so the timers are registered with the global
+ * registry that Spring Boot adds its registry to.
+ */
+final class BsonJacksonBridge {
+
+    private static final String DATE = "$date";
+    private static final String NUMBER_LONG = "$numberLong";
+    private static final long LAST_MILLI_OF_YEAR_9999 = 253_402_300_799_999L;
+    private static final String WRAPPER_KEY = "v";
+
+    static final String METRIC_NAME = "disqualification.converter";
+    private static final Map<Class<?>, Timer> READ_TIMERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Timer> WRITE_TIMERS = new ConcurrentHashMap<>();
+
+    private BsonJacksonBridge() {
+    }
+
+    static <T> T read(ObjectMapper objectMapper, Document source, Class<T> type) throws IOException {
+        long start = System.nanoTime();
+        try {
+            TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+            writeValue(objectMapper, buffer, source);
+            try (JsonParser parser = buffer.asParser()) {
+                return objectMapper.readValue(parser, type);
+            }
+        } finally {
+            timer(READ_TIMERS, "read", type).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static BasicDBObject write(ObjectMapper objectMapper, Object source) throws IOException {
+        long start = System.nanoTime();
+        try {
+            TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+            objectMapper.writeValue(buffer, source);
+            try (JsonParser parser = buffer.asParser()) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new IOException("Expected a JSON object but found " + parser.currentToken());
+                }
+                return readObject(parser);
+            }
+        } finally {
+            timer(WRITE_TIMERS, "write", source.getClass()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer timer(Map<Class<?>, Timer> timers, String direction, Class<?> type) {
+        return timers.computeIfAbsent(type, key -> Timer.builder(METRIC_NAME)
+                .description("Time taken to convert between a MongoDB document and a disqualification")
+                .tag("direction", direction)
+                .tag("type", key.getSimpleName())
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry));
+    }
+
+    private static void writeValue(ObjectMapper objectMapper, JsonGenerator generator, Object value)
+            throws IOException {
+        switch (value) {
+            case null -> generator.writeNull();
+            case String string -> generator.writeString(string);
+            case Integer integer -> generator.writeNumber(integer);
+            case Long number when number == number.intValue() -> generator.writeNumber(number.intValue());
+            case Long number -> generator.writeNumber(number);
+            case Double number when Double.isFinite(number) -> generator.writeNumber(number);
+            case Boolean bool -> generator.writeBoolean(bool);
+            case Date date -> writeDate(generator, date.getTime());
+            case Map<?, ?> map -> {
+                generator.writeStartObject();
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    generator.writeFieldName(String.valueOf(entry.getKey()));
+                    writeValue(objectMapper, generator, entry.getValue());
+                }
+                generator.writeEndObject();
+            }
+            case Collection<?> collection -> {
+                generator.writeStartArray();
+                for (Object element : collection) {
+                    writeValue(objectMapper, generator, element);
+                }
+                generator.writeEndArray();
+            }
+            default -> writeExtendedJson(objectMapper, generator, value);
+        }
+    }
+
+    /**
+     * Relaxed extended JSON writes dates within years 1970 to 9999 as ISO-8601 text and any other date as
+     * a $numberLong of epoch millis.
+     */
+    private static void writeDate(JsonGenerator generator, long millis) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(DATE);
+        if (millis < 0 || millis > LAST_MILLI_OF_YEAR_9999) {
+            generator.writeStartObject();
+            generator.writeStringField(NUMBER_LONG, Long.toString(millis));
+            generator.writeEndObject();
+        } else {
+            generator.writeString(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(
+                    ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC)));
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Rarer BSON values (ObjectId, Decimal128, non-finite doubles and so on) are copied from their relaxed
+     * extended JSON form.
+     */
+    private static void writeExtendedJson(ObjectMapper objectMapper, JsonGenerator generator, Object value)
+            throws IOException {
+        try (JsonParser parser = objectMapper.createParser(new Document(WRAPPER_KEY, value).toJson())) {
+            parser.nextToken();
+            parser.nextToken();
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+    }
+
+    private static BasicDBObject readObject(JsonParser parser) throws IOException {
+        BasicDBObject object = new BasicDBObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            object.put(name, readValue(parser, parser.nextToken()));
+        }
+        return object;
+    }
+
+    private static Object readValue(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case START_OBJECT -> readObject(parser);
+            case START_ARRAY -> {
+                BasicDBList list = new BasicDBList();
+                JsonToken element;
+                while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    list.add(readValue(parser, element));
+                }
+                yield list;
+            }
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT -> readInteger(parser);
+            case VALUE_NUMBER_FLOAT -> readFloat(parser);
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NULL -> null;
+            case VALUE_EMBEDDED_OBJECT -> readEmbedded(parser.getEmbeddedObject());
+            default -> throw new IOException("Unexpected token " + token);
+        };
+    }
+
+    /**
+     * Whole numbers parse as an int32 when they fit and an int64 otherwise, whatever the Java type was.
+     */
+    private static Object readInteger(JsonParser parser) throws IOException {
+        if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+            BigInteger value = parser.getBigIntegerValue();
+            if (value.bitLength() >= Long.SIZE) {
+                return value.doubleValue();
+            }
+        }
+        long value = parser.getLongValue();
+        return value == (int) value ? (Object) (int) value : (Object) value;
+    }
+
+    /**
+     * Fractional numbers parse as a double from their JSON text, so a float keeps its shortest decimal form.
+     */
+    private static Double readFloat(JsonParser parser) throws IOException {
+        if (parser.getNumberType() == JsonParser.NumberType.FLOAT) {
+            return Double.parseDouble(Float.toString(parser.getFloatValue()));
+        }
+        return parser.getDoubleValue();
+    }
+
+    private static Object readEmbedded(Object value) {
+        if (value instanceof byte[] bytes) {
+            return Base64.getEncoder().encodeToString(bytes);
+        }
+        return value;
+    }
+}
@@ -23,7 +23,7 @@ public class DisqualifiedCorporateOfficerReadConverter implements Converter<Docu
     @Override
     public CorporateDisqualificationApi convert(Document source) {
         try {
-            return objectMapper.readValue(source.toJson(), CorporateDisqualificationApi.class);
+            return BsonJacksonBridge.read(objectMapper, source, CorporateDisqualificationApi.class);
         } catch (Exception ex) {
             throw new RuntimeException(ex);
         }
@@ -23,7 +23,7 @@ public class DisqualifiedCorporateOfficerWriteConverter implements Converter<Cor
     @Override
     public BasicDBObject convert(CorporateDisqualificationApi source) {
         try {
-            return BasicDBObject.parse(objectMapper.writeValueAsString(source));
+            return BsonJacksonBridge.write(objectMapper, source);
         } catch (Exception ex) {
             throw new RuntimeException(ex);
         }
@@ -23,7 +23,7 @@ public class DisqualifiedNaturalOfficerWriteConverter implements Converter<Natur
     @Override
     public BasicDBObject convert(NaturalDisqualificationApi source) {
         try {
-            return BasicDBObject.parse(objectMapper.writeValueAsString(source));
+            return BsonJacksonBridge.write(objectMapper, source);
         } catch (Exception ex) {
             throw new RuntimeException(ex);
         }
@@ -1,35 +1,58 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.logging;
 
 import uk.gov.companieshouse.logging.util.DataMap.Builder;
+import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Log context for the request being handled on the current thread.
+ * <p>
+ * The log map is built once and reused by every log call until the context is next changed through
+ * {@link #get()} or {@link #initialise(String)}, so callers must add to the builder straight away rather than
+ * keeping it.
+ */
 public class DataMapHolder {
 
-    private static final ThreadLocal<Builder> DATAMAP_BUILDER
-            = ThreadLocal.withInitial(() -> new Builder().requestId("uninitialised"));
+    private static final ThreadLocal<Context> CONTEXT = ThreadLocal.withInitial(Context::new);
 
     public static void initialise(String requestId) {
-        DATAMAP_BUILDER.get().requestId(requestId);
+        get().requestId(requestId);
     }
 
     private DataMapHolder() {
     }
 
     public static void clear() {
-        DATAMAP_BUILDER.remove();
+        CONTEXT.remove();
     }
 
     public static Builder get() {
-        return DATAMAP_BUILDER.get();
+        Context context = CONTEXT.get();
+        context.logMap = null;
+        return context.builder;
     }
 
+    /**
+     * Returns a copy of the cached log map, so a logger adding to it does not change later log calls.
+     */
     public static Map<String, Object> getLogMap() {
-        return DATAMAP_BUILDER.get()
-                .build()
-                .getLogMap();
+        return new HashMap<>(CONTEXT.get().logMap());
     }
 
     public static String getRequestId() {
-        return (String) getLogMap().get("request_id");
+        return (String) CONTEXT.get().logMap().get("request_id");
+    }
+
+    private static final class Context {
+
+        private final Builder builder = new Builder().requestId("uninitialised");
+        private Map<String, Object> logMap;
+
+        private Map<String, Object> logMap() {
+            if (logMap == null) {
+                logMap = builder.build().getLogMap();
+            }
+            return logMap;
+        }
     }
 }
@@ -0,0 +1,11 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One delete in a bulk delete, carrying what the single DELETE takes from its path and x-delta-at header.
+ */
+public record BulkDeleteItem(@JsonProperty("officer_type") String officerType,
+                             @JsonProperty("officer_id") String officerId,
+                             @JsonProperty("delta_at") String deltaAt) {
+}
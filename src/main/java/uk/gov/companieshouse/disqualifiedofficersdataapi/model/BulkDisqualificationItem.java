@@ -0,0 +1,22 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import uk.gov.companieshouse.api.disqualification.InternalCorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificationApi;
+
+/**
+ * One delta in a bulk PUT. The officer_type property selects whether data is read as an internal natural or
+ * corporate disqualification.
+ */
+public record BulkDisqualificationItem(
+        @JsonProperty("officer_id") String officerId,
+        @JsonProperty("data")
+        @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.EXTERNAL_PROPERTY,
+                property = "officer_type")
+        @JsonSubTypes({
+                @JsonSubTypes.Type(value = InternalNaturalDisqualificationApi.class, name = "natural"),
+                @JsonSubTypes.Type(value = InternalCorporateDisqualificationApi.class, name = "corporate")})
+        Object data) {
+}
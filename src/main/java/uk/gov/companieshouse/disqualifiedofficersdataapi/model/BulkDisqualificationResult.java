@@ -0,0 +1,10 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Outcome of one bulk PUT or bulk delete item, returned in the same position as the item in the request.
+ */
+public record BulkDisqualificationResult(@JsonProperty("officer_id") String officerId,
+                                         @JsonProperty("status") BulkItemStatus status) {
+}
@@ -0,0 +1,23 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum BulkItemStatus {
+
+    APPLIED("applied"),
+    STALE("stale"),
+    NOT_FOUND("not_found"),
+    INVALID("invalid"),
+    FAILED("failed");
+
+    private final String status;
+
+    BulkItemStatus(String status) {
+        this.status = status;
+    }
+
+    @JsonValue
+    public String getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,20 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum ChangeOperation {
+
+    CHANGED("changed"),
+    DELETED("deleted");
+
+    private final String operation;
+
+    ChangeOperation(String operation) {
+        this.operation = operation;
+    }
+
+    @JsonValue
+    public String getOperation() {
+        return operation;
+    }
+}
@@ -0,0 +1,17 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.Map;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+
+/**
+ * Disqualifications found by a batch GET keyed by officer id, and the requested ids of each type that were not
+ * found, in request order.
+ */
+public record DisqualificationBatch(@JsonProperty("natural") Map<String, NaturalDisqualificationApi> natural,
+                                    @JsonProperty("corporate") Map<String, CorporateDisqualificationApi> corporate,
+                                    @JsonProperty("natural_not_found") List<String> naturalNotFound,
+                                    @JsonProperty("corporate_not_found") List<String> corporateNotFound) {
+}
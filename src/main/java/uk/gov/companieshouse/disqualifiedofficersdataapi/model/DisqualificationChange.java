@@ -0,0 +1,10 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * A write to one officer's disqualification, in the order it was made.
+ */
+public record DisqualificationChange(@JsonProperty("officer_id") String officerId,
+                                     @JsonProperty("operation") ChangeOperation operation) {
+}
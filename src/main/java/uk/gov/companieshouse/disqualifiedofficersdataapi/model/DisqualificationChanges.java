@@ -0,0 +1,11 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+/**
+ * A page of the change feed and the token to resume after it, which is returned even when there are no changes.
+ */
+public record DisqualificationChanges(@JsonProperty("changes") List<DisqualificationChange> changes,
+                                      @JsonProperty("resume_token") String resumeToken) {
+}
@@ -24,11 +24,19 @@ public class DisqualificationDocument {
     @Field("delta_at")
     private String deltaAt;
 
+    @Field("delta_at_micros")
+    private Long deltaAtMicros;
+
     @Field("is_corporate_officer")
     private boolean isCorporateOfficer;
 
     private Updated updated;
 
+    @Field("response_body")
+    private byte[] responseBody;
+
+    private Long version;
+
     public String getId() {
         return id;
     }
@@ -83,6 +91,15 @@ public class DisqualificationDocument {
         return this;
     }
 
+    public Long getDeltaAtMicros() {
+        return deltaAtMicros;
+    }
+
+    public DisqualificationDocument setDeltaAtMicros(Long deltaAtMicros) {
+        this.deltaAtMicros = deltaAtMicros;
+        return this;
+    }
+
     public boolean isCorporateOfficer() {
         return isCorporateOfficer;
     }
@@ -100,4 +117,30 @@ public class DisqualificationDocument {
         this.updated = updated;
         return this;
     }
+
+    /**
+     * The public GET response body rendered when the document was written, if precomputed responses were
+     * enabled at the time.
+     */
+    public byte[] getResponseBody() {
+        return responseBody;
+    }
+
+    public DisqualificationDocument setResponseBody(byte[] responseBody) {
+        this.responseBody = responseBody;
+        return this;
+    }
+
+    /**
+     * Incremented by MongoDB on every write, so a write guarded by the version read fails if another write came
+     * in between. Null for documents not written since the counter was introduced.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    public DisqualificationDocument setVersion(Long version) {
+        this.version = version;
+        return this;
+    }
 }
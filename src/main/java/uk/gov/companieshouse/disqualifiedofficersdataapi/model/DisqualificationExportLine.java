@@ -0,0 +1,12 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * One line of an export, carrying the public GET response body of a disqualification.
+ */
+public record DisqualificationExportLine(@JsonProperty("officer_id") String officerId,
+                                        @JsonProperty("officer_type") String officerType,
+                                        @JsonProperty("delta_at") String deltaAt,
+                                        @JsonProperty("data") Object data) {
+}
@@ -0,0 +1,11 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Last line of an export, written only once every disqualification has been, so an export without it is
+ * incomplete.
+ */
+public record DisqualificationExportTrailer(@JsonProperty("complete") boolean complete,
+                                           @JsonProperty("lines") long lines) {
+}
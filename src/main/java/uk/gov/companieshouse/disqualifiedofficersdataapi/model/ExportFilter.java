@@ -0,0 +1,13 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional bounds on an export. Each range includes its from value and excludes its to value, and a null bound
+ * leaves that end of the range open.
+ */
+public record ExportFilter(LocalDateTime updatedFrom,
+                           LocalDateTime updatedTo,
+                           String deltaAtFrom,
+                           String deltaAtTo) {
+}
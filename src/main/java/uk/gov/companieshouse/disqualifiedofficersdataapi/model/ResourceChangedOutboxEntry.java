@@ -0,0 +1,161 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.model;
+
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * A resource changed notification waiting to be sent to chs-kafka-api. Deleted data is kept as the JSON the
+ * synchronous call would have sent, so the event is the same whichever path publishes it.
+ */
+@Document(collection = "resource_changed_outbox")
+public class ResourceChangedOutboxEntry {
+
+    @Id
+    private String id;
+
+    @Field("officer_id")
+    private String officerId;
+
+    @Field("officer_type")
+    private DisqualificationResourceType officerType;
+
+    @Field("context_id")
+    private String contextId;
+
+    @Field("is_delete")
+    private boolean delete;
+
+    @Field("deleted_data")
+    private String deletedData;
+
+    @Field("created_at")
+    private Instant createdAt;
+
+    private int attempts;
+
+    @Field("next_attempt_at")
+    private Instant nextAttemptAt;
+
+    @Field("leased_until")
+    private Instant leasedUntil;
+
+    @Field("lease_owner")
+    private String leaseOwner;
+
+    @Field("parked_at")
+    private Instant parkedAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public ResourceChangedOutboxEntry setId(String id) {
+        this.id = id;
+        return this;
+    }
+
+    public String getOfficerId() {
+        return officerId;
+    }
+
+    public ResourceChangedOutboxEntry setOfficerId(String officerId) {
+        this.officerId = officerId;
+        return this;
+    }
+
+    public DisqualificationResourceType getOfficerType() {
+        return officerType;
+    }
+
+    public ResourceChangedOutboxEntry setOfficerType(DisqualificationResourceType officerType) {
+        this.officerType = officerType;
+        return this;
+    }
+
+    public String getContextId() {
+        return contextId;
+    }
+
+    public ResourceChangedOutboxEntry setContextId(String contextId) {
+        this.contextId = contextId;
+        return this;
+    }
+
+    public boolean isDelete() {
+        return delete;
+    }
+
+    public ResourceChangedOutboxEntry setDelete(boolean delete) {
+        this.delete = delete;
+        return this;
+    }
+
+    public String getDeletedData() {
+        return deletedData;
+    }
+
+    public ResourceChangedOutboxEntry setDeletedData(String deletedData) {
+        this.deletedData = deletedData;
+        return this;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public ResourceChangedOutboxEntry setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+        return this;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public ResourceChangedOutboxEntry setAttempts(int attempts) {
+        this.attempts = attempts;
+        return this;
+    }
+
+    public Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public ResourceChangedOutboxEntry setNextAttemptAt(Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+        return this;
+    }
+
+    public Instant getLeasedUntil() {
+        return leasedUntil;
+    }
+
+    public ResourceChangedOutboxEntry setLeasedUntil(Instant leasedUntil) {
+        this.leasedUntil = leasedUntil;
+        return this;
+    }
+
+    public String getLeaseOwner() {
+        return leaseOwner;
+    }
+
+    public ResourceChangedOutboxEntry setLeaseOwner(String leaseOwner) {
+        this.leaseOwner = leaseOwner;
+        return this;
+    }
+
+    /**
+     * When the entry was given up on, after too many failed sends or because it cannot be read. A parked entry
+     * is kept for inspection but is no longer sent and no longer holds back later entries for the officer.
+     */
+    public Instant getParkedAt() {
+        return parkedAt;
+    }
+
+    public ResourceChangedOutboxEntry setParkedAt(Instant parkedAt) {
+        this.parkedAt = parkedAt;
+        return this;
+    }
+}
@@ -0,0 +1,7 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.repository;
+
+/**
+ * The etag of a stored disqualification and the officer type it belongs to.
+ */
+public record DisqualificationEtag(String etag, boolean corporateOfficer) {
+}
@@ -5,5 +5,6 @@ import org.springframework.stereotype.Repository;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
 
 @Repository
-public interface DisqualifiedOfficerRepository extends MongoRepository<DisqualificationDocument, String> {
+public interface DisqualifiedOfficerRepository extends MongoRepository<DisqualificationDocument, String>,
+        DisqualifiedOfficerRepositoryCustom {
 }
@@ -0,0 +1,97 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationChanges;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ExportFilter;
+
+public interface DisqualifiedOfficerRepositoryCustom {
+
+    /**
+     * Replace the stored document for the officer in a single round trip, unless the stored
+     * delta_at is more recent than the one on the given document.
+     *
+     * @param document Transformed document, with created set to the value to use on insert
+     * @return whether the document was inserted, replaced or rejected as stale
+     */
+    UpsertResult upsertIfNotStale(DisqualificationDocument document);
+
+    /**
+     * Apply {@link #upsertIfNotStale(DisqualificationDocument)} to each document in a single unordered bulk
+     * write. An item that fails does not stop the others.
+     *
+     * @param documents Transformed documents, each with created set to the value to use on insert
+     * @return the result for each document, in the same order as the documents
+     */
+    List<UpsertResult> upsertAllIfNotStale(List<DisqualificationDocument> documents);
+
+    /**
+     * Delete the officer's document in a single round trip, unless it is the other officer type or its delta_at
+     * is more recent than the request's.
+     *
+     * @param officerId        Mongo id
+     * @param corporateOfficer whether the delete was requested for a corporate officer
+     * @param deltaAt          delta_at on the request
+     * @param deltaAtMicros    delta_at on the request as epoch micros
+     * @param documentClass    class to read the deleted document as
+     * @return the deleted document, or empty if no document matched
+     */
+    <T extends DisqualificationDocument> Optional<T> findAndDeleteIfNotStale(String officerId,
+            boolean corporateOfficer, String deltaAt, long deltaAtMicros, Class<T> documentClass);
+
+    /**
+     * Delete each document with its own delete, unless the stored document has been written again or changed
+     * officer type since it was read. A document repeated in the list is deleted once.
+     *
+     * @param documents Documents as read, each guarding its own delete
+     * @return ids of the documents this call deleted; a document another writer deleted first is not included
+     */
+    Set<String> deleteAllUnchanged(List<? extends DisqualificationDocument> documents);
+
+    /**
+     * Fetch only data.etag and is_corporate_officer for the officer, for conditional GETs that need no
+     * document body.
+     *
+     * @param officerId Mongo id
+     * @return the stored etag, or empty if there is no document for the officer
+     */
+    Optional<DisqualificationEtag> findEtagById(String officerId);
+
+    /**
+     * Fetch only data and is_corporate_officer for each officer in a single query, reading each document as the
+     * officer type it is stored as.
+     *
+     * @param officerIds Mongo ids
+     * @return the documents found, in no particular order
+     */
+    List<DisqualificationDocument> findDataByIds(Collection<String> officerIds);
+
+    /**
+     * Stream the documents of one officer type in _id order through a cursor, fetching the next batch only as
+     * the stream is consumed. The stream must be closed to release the cursor.
+     *
+     * @param corporateOfficer whether to stream corporate or natural officers
+     * @param filter           updated.at and delta_at bounds
+     * @param batchSize        documents fetched per round trip
+     * @param documentClass    class to read each document as
+     * @return the matching documents
+     */
+    <T extends DisqualificationDocument> Stream<T> streamAll(boolean corporateOfficer, ExportFilter filter,
+            int batchSize, Class<T> documentClass);
+
+    /**
+     * Read the next writes to the collection from its change stream, waiting up to maxAwaitMillis for one to
+     * arrive when none are waiting.
+     *
+     * @param resumeAfter    token returned by an earlier call, or null to start from now
+     * @param limit          most changes to return
+     * @param maxAwaitMillis how long to wait for a change before returning an empty page
+     * @return the changes, oldest first, and the token to resume after them
+     * @throws IllegalArgumentException if the token is malformed or has fallen off the oplog
+     */
+    DisqualificationChanges findChanges(String resumeAfter, int limit, long maxAwaitMillis);
+}
@@ -0,0 +1,330 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.repository;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoServerException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ChangeOperation;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationChange;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationChanges;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ExportFilter;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+
+public class DisqualifiedOfficerRepositoryCustomImpl implements DisqualifiedOfficerRepositoryCustom {
+
+    private static final String ID = "_id";
+    private static final String DELTA_AT = "delta_at";
+    private static final String DELTA_AT_MICROS = "delta_at_micros";
+    private static final String CREATED = "created";
+    private static final String DATA = "data";
+    private static final String ETAG = "etag";
+    private static final String IS_CORPORATE_OFFICER = "is_corporate_officer";
+    private static final String UPDATED_AT = "updated.at";
+    private static final String VERSION = "version";
+    private static final String OPERATION_TYPE = "operationType";
+    private static final String DOCUMENT_KEY = "documentKey";
+    private static final String RESUME_TOKEN_DATA = "_data";
+    private static final int DUPLICATE_KEY = 11000;
+    private static final Set<Integer> RESUME_TOKEN_ERRORS = Set.of(260, 280, 286);
+    private static final List<Bson> CHANGE_PIPELINE = List.of(
+            Aggregates.match(Filters.in(OPERATION_TYPE, "insert", "update", "replace", "delete")),
+            Aggregates.project(Projections.include(OPERATION_TYPE, DOCUMENT_KEY)));
+
+    private final MongoTemplate mongoTemplate;
+
+    public DisqualifiedOfficerRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public UpsertResult upsertIfNotStale(DisqualificationDocument document) {
+        Bson filter = Filters.and(Filters.eq(ID, document.getId()),
+                notStale(document.getDeltaAt(), document.getDeltaAtMicros()));
+        List<Document> update = replaceKeepingCreated(document);
+
+        try {
+            return findOneAndUpsert(filter, update);
+        } catch (DuplicateKeyException ex) {
+            // The filter did not match but a document with this id exists: either it is newer than the
+            // request, or a concurrent insert won the race. Re-evaluating once tells the two apart.
+            try {
+                return findOneAndUpsert(filter, update);
+            } catch (DuplicateKeyException retryEx) {
+                return UpsertResult.STALE;
+            }
+        }
+    }
+
+    @Override
+    public List<UpsertResult> upsertAllIfNotStale(List<DisqualificationDocument> documents) {
+        if (documents.isEmpty()) {
+            return List.of();
+        }
+        List<UpdateOneModel<Document>> models = new ArrayList<>(documents.size());
+        for (DisqualificationDocument document : documents) {
+            models.add(new UpdateOneModel<>(
+                    Filters.and(Filters.eq(ID, document.getId()),
+                            notStale(document.getDeltaAt(), document.getDeltaAtMicros())),
+                    replaceKeepingCreated(document),
+                    new UpdateOptions().upsert(true)));
+        }
+
+        List<UpsertResult> results = mongoTemplate.execute(DisqualificationDocument.class, collection -> {
+            try {
+                return toResults(documents.size(),
+                        collection.bulkWrite(models, new BulkWriteOptions().ordered(false)), List.of());
+            } catch (MongoBulkWriteException ex) {
+                if (ex.getWriteConcernError() != null) {
+                    throw ex;
+                }
+                return toResults(documents.size(), ex.getWriteResult(), ex.getWriteErrors());
+            }
+        });
+
+        // As with a single upsert, a duplicate key means the document is newer than the item or a concurrent
+        // insert won the race, so those items are re-evaluated one at a time.
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                try {
+                    results.set(i, upsertIfNotStale(documents.get(i)));
+                } catch (DataAccessException ex) {
+                    results.set(i, UpsertResult.FAILED);
+                }
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public <T extends DisqualificationDocument> Optional<T> findAndDeleteIfNotStale(String officerId,
+            boolean corporateOfficer, String deltaAt, long deltaAtMicros, Class<T> documentClass) {
+        Bson filter = Filters.and(Filters.eq(ID, officerId), officerType(corporateOfficer),
+                notStale(deltaAt, deltaAtMicros));
+        Document deleted = mongoTemplate.execute(DisqualificationDocument.class,
+                collection -> collection.findOneAndDelete(filter));
+        return Optional.ofNullable(deleted).map(document -> mongoTemplate.getConverter().read(documentClass, document));
+    }
+
+    @Override
+    public Set<String> deleteAllUnchanged(List<? extends DisqualificationDocument> documents) {
+        if (documents.isEmpty()) {
+            return Set.of();
+        }
+        // Each document gets its own delete so its result says whether this call removed it; a bulk write only
+        // counts deletions, which cannot tell them apart from documents another writer deleted at the same time
+        return mongoTemplate.execute(DisqualificationDocument.class, collection -> {
+            Set<String> deleted = new HashSet<>();
+            for (DisqualificationDocument document : documents) {
+                if (deleted.contains(document.getId())) {
+                    continue;
+                }
+                Bson filter = Filters.and(Filters.eq(ID, document.getId()), unchanged(document),
+                        officerType(document.isCorporateOfficer()));
+                if (collection.deleteOne(filter).getDeletedCount() == 1) {
+                    deleted.add(document.getId());
+                }
+            }
+            return deleted;
+        });
+    }
+
+    @Override
+    public Optional<DisqualificationEtag> findEtagById(String officerId) {
+        Document projected = mongoTemplate.execute(DisqualificationDocument.class,
+                collection -> collection.find(Filters.eq(ID, officerId))
+                        .projection(Projections.include(DATA + "." + ETAG, IS_CORPORATE_OFFICER))
+                        .first());
+        if (projected == null) {
+            return Optional.empty();
+        }
+        Document data = projected.get(DATA, Document.class);
+        return Optional.of(new DisqualificationEtag(data == null ? null : data.getString(ETAG),
+                projected.getBoolean(IS_CORPORATE_OFFICER, false)));
+    }
+
+    @Override
+    public List<DisqualificationDocument> findDataByIds(Collection<String> officerIds) {
+        List<Document> found = mongoTemplate.execute(DisqualificationDocument.class,
+                collection -> collection.find(Filters.in(ID, officerIds))
+                        .projection(Projections.include(DATA, IS_CORPORATE_OFFICER))
+                        .into(new ArrayList<>(officerIds.size())));
+        List<DisqualificationDocument> documents = new ArrayList<>(found.size());
+        for (Document document : found) {
+            documents.add(mongoTemplate.getConverter().read(document.getBoolean(IS_CORPORATE_OFFICER, false)
+                    ? CorporateDisqualificationDocument.class : NaturalDisqualificationDocument.class, document));
+        }
+        return documents;
+    }
+
+    @Override
+    public <T extends DisqualificationDocument> Stream<T> streamAll(boolean corporateOfficer, ExportFilter filter,
+            int batchSize, Class<T> documentClass) {
+        Criteria officerType = Criteria.where(IS_CORPORATE_OFFICER);
+        Query query = new Query(corporateOfficer ? officerType.is(true) : officerType.ne(true));
+        addRange(query, UPDATED_AT, filter.updatedFrom(), filter.updatedTo());
+        addRange(query, DELTA_AT, filter.deltaAtFrom(), filter.deltaAtTo());
+        query.with(Sort.by(ID)).cursorBatchSize(batchSize);
+        return mongoTemplate.stream(query, documentClass);
+    }
+
+    @Override
+    public DisqualificationChanges findChanges(String resumeAfter, int limit, long maxAwaitMillis) {
+        return mongoTemplate.execute(DisqualificationDocument.class, collection -> {
+            ChangeStreamIterable<Document> changeStream = collection.watch(CHANGE_PIPELINE)
+                    .batchSize(limit)
+                    .maxAwaitTime(maxAwaitMillis, TimeUnit.MILLISECONDS);
+            if (resumeAfter != null) {
+                changeStream = changeStream.resumeAfter(
+                        new BsonDocument(RESUME_TOKEN_DATA, new BsonString(resumeAfter)));
+            }
+            List<DisqualificationChange> changes = new ArrayList<>();
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = changeStream.cursor()) {
+                ChangeStreamDocument<Document> change;
+                while (changes.size() < limit && (change = cursor.tryNext()) != null) {
+                    changes.add(new DisqualificationChange(change.getDocumentKey().getString(ID).getValue(),
+                            change.getOperationType() == OperationType.DELETE
+                                    ? ChangeOperation.DELETED : ChangeOperation.CHANGED));
+                }
+                // The token of the last change returned, or once the stream is drained the point it has read up
+                // to, so an empty page still moves the consumer's token forward
+                BsonDocument resumeToken = cursor.getResumeToken();
+                return new DisqualificationChanges(changes, resumeToken == null
+                        ? resumeAfter : resumeToken.getString(RESUME_TOKEN_DATA).getValue());
+            } catch (MongoServerException ex) {
+                if (RESUME_TOKEN_ERRORS.contains(ex.getCode())) {
+                    throw new IllegalArgumentException("Change stream cannot resume after the given token", ex);
+                }
+                throw ex;
+            }
+        });
+    }
+
+    private UpsertResult findOneAndUpsert(Bson filter, List<Document> update) {
+        Document previous = mongoTemplate.execute(DisqualificationDocument.class,
+                collection -> collection.findOneAndUpdate(filter, update, new FindOneAndUpdateOptions()
+                        .upsert(true)
+                        .projection(Projections.include(ID))
+                        .returnDocument(ReturnDocument.BEFORE)));
+        return previous == null ? UpsertResult.INSERTED : UpsertResult.APPLIED;
+    }
+
+    /**
+     * Maps a bulk write onto per-item results, leaving null for items that hit a duplicate key. Every other
+     * item either upserted, matched or failed.
+     */
+    private static List<UpsertResult> toResults(int size, BulkWriteResult writeResult,
+            List<BulkWriteError> writeErrors) {
+        List<UpsertResult> results = new ArrayList<>(Collections.nCopies(size, UpsertResult.APPLIED));
+        for (BulkWriteUpsert upsert : writeResult.getUpserts()) {
+            results.set(upsert.getIndex(), UpsertResult.INSERTED);
+        }
+        for (BulkWriteError error : writeErrors) {
+            results.set(error.getIndex(), error.getCode() == DUPLICATE_KEY ? null : UpsertResult.FAILED);
+        }
+        return results;
+    }
+
+    /**
+     * Restricts a field to from inclusive and to exclusive, leaving a null bound open. A delta_at range compares
+     * the fixed width strings, so it needs no delta_at_micros.
+     */
+    private static void addRange(Query query, String field, Object from, Object to) {
+        if (from == null && to == null) {
+            return;
+        }
+        Criteria criteria = Criteria.where(field);
+        if (from != null) {
+            criteria.gte(from);
+        }
+        if (to != null) {
+            criteria.lt(to);
+        }
+        query.addCriteria(criteria);
+    }
+
+    /**
+     * Matches the officer type, reading a missing is_corporate_officer as natural as {@link #findEtagById} does.
+     */
+    private static Bson officerType(boolean corporateOfficer) {
+        return corporateOfficer ? Filters.eq(IS_CORPORATE_OFFICER, true) : Filters.ne(IS_CORPORATE_OFFICER, true);
+    }
+
+    /**
+     * Compares the numeric delta_at_micros where the stored document has one. Documents not yet migrated
+     * fall back to delta_at, a fixed width yyyyMMddHHmmssSSSSSS string whose lexical order is chronological.
+     */
+    private static Bson notStale(String deltaAt, Long deltaAtMicros) {
+        Bson deltaAtNotStale = Filters.or(Filters.lte(DELTA_AT, deltaAt),
+                Filters.in(DELTA_AT, Arrays.asList(null, "")));
+        if (deltaAtMicros == null) {
+            return deltaAtNotStale;
+        }
+        return Filters.or(Filters.lte(DELTA_AT_MICROS, deltaAtMicros),
+                Filters.and(Filters.exists(DELTA_AT_MICROS, false), deltaAtNotStale));
+    }
+
+    /**
+     * Matches the stored document only if no write has replaced it since it was read. Every write increments
+     * version, so this catches a replace with the same delta_at; a document read without a version is compared
+     * on delta_at alone.
+     */
+    private static Bson unchanged(DisqualificationDocument document) {
+        if (document.getVersion() != null) {
+            return Filters.eq(VERSION, document.getVersion());
+        }
+        return Filters.eq(DELTA_AT, document.getDeltaAt());
+    }
+
+    /**
+     * Builds an update pipeline that replaces the whole document while keeping any existing created
+     * timestamp and incrementing version, so the insert and replace cases need no prior read.
+     */
+    private List<Document> replaceKeepingCreated(DisqualificationDocument document) {
+        Document replacement = new Document();
+        mongoTemplate.getConverter().write(document, replacement);
+        Object created = replacement.remove(CREATED);
+        replacement.remove(VERSION);
+
+        Document computed = new Document(CREATED,
+                new Document("$ifNull", Arrays.asList("$" + CREATED, new Document("$literal", created))))
+                .append(VERSION, new Document("$add",
+                        Arrays.asList(new Document("$ifNull", Arrays.asList("$" + VERSION, 0L)), 1L)));
+        return List.of(new Document("$replaceWith", new Document("$mergeObjects",
+                Arrays.asList(new Document("$literal", replacement), computed))));
+    }
+}
@@ -1,6 +1,8 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.repository;
 
+import java.util.Optional;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
@@ -8,4 +10,28 @@ import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualifi
 @Repository
 public interface NaturalDisqualifiedOfficerRepository extends MongoRepository<NaturalDisqualificationDocument, String> {
 
+    /**
+     * Fetch only data and is_corporate_officer, which is all a GET returns, leaving the internal fields unread.
+     * The officer type is part of the query, so a corporate officer with this id is not matched.
+     *
+     * @param officerId Mongo id
+     * @return the document with only id, data and is_corporate_officer set, or empty if there is no natural
+     *         officer with the id
+     */
+    @Query(value = "{ '_id': ?0, 'is_corporate_officer': { '$ne': true } }",
+            fields = "{ 'data': 1, 'is_corporate_officer': 1 }")
+    Optional<NaturalDisqualificationDocument> findDataById(String officerId);
+
+    /**
+     * Fetch only the response body rendered at write time, the etag and is_corporate_officer, so a GET can be
+     * served without mapping data. The officer type is part of the query, so a corporate officer with this id is
+     * not matched.
+     *
+     * @param officerId Mongo id
+     * @return the document with only id, response_body, data.etag and is_corporate_officer set, or empty if
+     *         there is no natural officer with the id
+     */
+    @Query(value = "{ '_id': ?0, 'is_corporate_officer': { '$ne': true } }",
+            fields = "{ 'response_body': 1, 'data.etag': 1, 'is_corporate_officer': 1 }")
+    Optional<NaturalDisqualificationDocument> findResponseBodyById(String officerId);
 }
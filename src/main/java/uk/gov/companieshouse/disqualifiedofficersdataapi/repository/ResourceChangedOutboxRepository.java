@@ -0,0 +1,10 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ResourceChangedOutboxEntry;
+
+@Repository
+public interface ResourceChangedOutboxRepository extends MongoRepository<ResourceChangedOutboxEntry, String>,
+        ResourceChangedOutboxRepositoryCustom {
+}
@@ -0,0 +1,56 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ResourceChangedOutboxEntry;
+
+public interface ResourceChangedOutboxRepositoryCustom {
+
+    /**
+     * Fetch the oldest entries that are ready to send: not parked, due for an attempt and not leased.
+     *
+     * @param now                current time
+     * @param limit              maximum number of entries
+     * @param excludedOfficerIds officers whose entries are known to be held back, may be empty
+     * @return entries in the order they were written
+     */
+    List<ResourceChangedOutboxEntry> findReady(Instant now, int limit, Collection<String> excludedOfficerIds);
+
+    /**
+     * Fetch the entries for the given officers that are leased or backing off, so that later entries for the
+     * same officers can be held back. Only the officer id, created time and id are read.
+     *
+     * @param officerIds officer ids of the ready entries
+     * @param now        current time
+     * @return blocked entries in the order they were written
+     */
+    List<ResourceChangedOutboxEntry> findBlocked(Collection<String> officerIds, Instant now);
+
+    /**
+     * Lease an entry that is still ready to send: not parked, due for an attempt and not under another
+     * dispatcher's unexpired lease.
+     *
+     * @param id          entry id
+     * @param owner       dispatcher taking the lease
+     * @param now         current time
+     * @param leasedUntil time after which the lease may be taken by another dispatcher
+     * @return whether the lease was taken
+     */
+    boolean claim(String id, String owner, Instant now, Instant leasedUntil);
+
+    /**
+     * Remove an entry once sent, provided the lease is still held.
+     */
+    void complete(String id, String owner);
+
+    /**
+     * Release the lease on an entry that failed to send, setting when it may next be tried.
+     */
+    void reschedule(String id, String owner, int attempts, Instant nextAttemptAt);
+
+    /**
+     * Release the lease on an entry that will not be sent again and mark it parked.
+     */
+    void park(String id, String owner, int attempts, Instant parkedAt);
+}
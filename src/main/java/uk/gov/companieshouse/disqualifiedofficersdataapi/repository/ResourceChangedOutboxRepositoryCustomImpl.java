@@ -0,0 +1,85 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ResourceChangedOutboxEntry;
+
+public class ResourceChangedOutboxRepositoryCustomImpl implements ResourceChangedOutboxRepositoryCustom {
+
+    private static final String ID = "_id";
+    private static final String OFFICER_ID = "officer_id";
+    private static final String CREATED_AT = "created_at";
+    private static final String ATTEMPTS = "attempts";
+    private static final String NEXT_ATTEMPT_AT = "next_attempt_at";
+    private static final String LEASED_UNTIL = "leased_until";
+    private static final String LEASE_OWNER = "lease_owner";
+    private static final String PARKED_AT = "parked_at";
+
+    private final MongoTemplate mongoTemplate;
+
+    public ResourceChangedOutboxRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<ResourceChangedOutboxEntry> findReady(Instant now, int limit,
+            Collection<String> excludedOfficerIds) {
+        Criteria criteria = Criteria.where(PARKED_AT).is(null)
+                .and(NEXT_ATTEMPT_AT).lte(now)
+                .orOperator(Criteria.where(LEASED_UNTIL).is(null), Criteria.where(LEASED_UNTIL).lte(now));
+        if (!excludedOfficerIds.isEmpty()) {
+            criteria.and(OFFICER_ID).nin(excludedOfficerIds);
+        }
+        Query query = new Query(criteria).with(Sort.by(CREATED_AT, ID)).limit(limit);
+        return mongoTemplate.find(query, ResourceChangedOutboxEntry.class);
+    }
+
+    @Override
+    public List<ResourceChangedOutboxEntry> findBlocked(Collection<String> officerIds, Instant now) {
+        Query query = new Query(Criteria.where(OFFICER_ID).in(officerIds)
+                .and(PARKED_AT).is(null)
+                .orOperator(Criteria.where(NEXT_ATTEMPT_AT).gt(now), Criteria.where(LEASED_UNTIL).gt(now)))
+                .with(Sort.by(CREATED_AT, ID));
+        query.fields().include(OFFICER_ID, CREATED_AT);
+        return mongoTemplate.find(query, ResourceChangedOutboxEntry.class);
+    }
+
+    @Override
+    public boolean claim(String id, String owner, Instant now, Instant leasedUntil) {
+        // Checked again here as a read may be stale: the entry may have been rescheduled or parked since
+        Query query = new Query(Criteria.where(ID).is(id)
+                .and(PARKED_AT).is(null)
+                .and(NEXT_ATTEMPT_AT).lte(now)
+                .orOperator(Criteria.where(LEASED_UNTIL).is(null), Criteria.where(LEASED_UNTIL).lte(now)));
+        Update update = new Update().set(LEASED_UNTIL, leasedUntil).set(LEASE_OWNER, owner);
+        return mongoTemplate.updateFirst(query, update, ResourceChangedOutboxEntry.class).getModifiedCount() == 1;
+    }
+
+    @Override
+    public void complete(String id, String owner) {
+        mongoTemplate.remove(new Query(Criteria.where(ID).is(id).and(LEASE_OWNER).is(owner)),
+                ResourceChangedOutboxEntry.class);
+    }
+
+    @Override
+    public void reschedule(String id, String owner, int attempts, Instant nextAttemptAt) {
+        Update update = new Update().set(ATTEMPTS, attempts).set(NEXT_ATTEMPT_AT, nextAttemptAt)
+                .unset(LEASED_UNTIL).unset(LEASE_OWNER);
+        mongoTemplate.updateFirst(new Query(Criteria.where(ID).is(id).and(LEASE_OWNER).is(owner)), update,
+                ResourceChangedOutboxEntry.class);
+    }
+
+    @Override
+    public void park(String id, String owner, int attempts, Instant parkedAt) {
+        Update update = new Update().set(ATTEMPTS, attempts).set(PARKED_AT, parkedAt)
+                .unset(LEASED_UNTIL).unset(LEASE_OWNER);
+        mongoTemplate.updateFirst(new Query(Criteria.where(ID).is(id).and(LEASE_OWNER).is(owner)), update,
+                ResourceChangedOutboxEntry.class);
+    }
+}
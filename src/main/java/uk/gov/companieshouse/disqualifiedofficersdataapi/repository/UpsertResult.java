@@ -0,0 +1,15 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.repository;
+
+/**
+ * Outcome of a conditional upsert against the disqualifications collection.
+ */
+public enum UpsertResult {
+
+    INSERTED,
+    APPLIED,
+    STALE,
+    /**
+     * Reported only by bulk upserts, for an item MongoDB rejected with an error other than a duplicate key.
+     */
+    FAILED
+}
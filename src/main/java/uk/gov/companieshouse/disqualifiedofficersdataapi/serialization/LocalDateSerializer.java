@@ -3,10 +3,13 @@ package uk.gov.companieshouse.disqualifiedofficersdataapi.serialization;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 import java.io.IOException;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.util.Date;
 
 public class LocalDateSerializer extends JsonSerializer<LocalDate> {
 
@@ -15,6 +18,9 @@ public class LocalDateSerializer extends JsonSerializer<LocalDate> {
                           SerializerProvider serializerProvider) throws IOException {
         if (localDate == null) {
             jsonGenerator.writeNull();
+        } else if (jsonGenerator instanceof TokenBuffer) {
+            // Written straight to a BSON document, so hand over the date the ISODate text would parse to
+            jsonGenerator.writeEmbeddedObject(Date.from(localDate.atStartOfDay(ZoneOffset.UTC).toInstant()));
         } else {
             DateTimeFormatter dateTimeFormatter =
                     DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
@@ -2,6 +2,15 @@ package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
 
 import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
 
+import io.micrometer.core.annotation.Timed;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.TransientDataAccessException;
 import org.springframework.stereotype.Component;
@@ -9,27 +18,37 @@ import uk.gov.companieshouse.disqualifiedofficersdataapi.api.DisqualifiedOfficer
 import uk.gov.companieshouse.disqualifiedofficersdataapi.api.ResourceChangedRequest;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.ConflictException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkDeleteItem;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkDisqualificationResult;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkItemStatus;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DeleteRequestParameters;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
 
 @Component
+@Timed(value = "disqualification.service", histogram = true)
 public class DeleteDisqualifiedOfficerService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+    private static final int MAX_ATTEMPTS = 3;
 
     private final DisqualifiedOfficerRepository repository;
     private final DisqualifiedOfficerApiService disqualifiedOfficerApiService;
     private final DeletionDataService deletionDataService;
+    private final DisqualificationResponseCache responseCache;
 
     public DeleteDisqualifiedOfficerService(DisqualifiedOfficerRepository repository,
-                                            DisqualifiedOfficerApiService disqualifiedOfficerApiService, DeletionDataService deletionDataService) {
+                                            DisqualifiedOfficerApiService disqualifiedOfficerApiService, DeletionDataService deletionDataService,
+                                            DisqualificationResponseCache responseCache) {
         this.repository = repository;
         this.disqualifiedOfficerApiService = disqualifiedOfficerApiService;
         this.deletionDataService = deletionDataService;
+        this.responseCache = responseCache;
     }
 
     public void deleteDisqualification(DeleteRequestParameters deleteRequestParameters) {
@@ -54,21 +73,152 @@ public class DeleteDisqualifiedOfficerService {
             data = deletionDataService.processNaturalDisqualificationData(officerId, requestDeltaAt);
         }
         if (data != null) {
-            LOGGER.info("Attempting to delete disqualification", DataMapHolder.getLogMap());
+            responseCache.invalidate(officerId);
+        }
+        disqualifiedOfficerApiService.invokeChsKafkaApi(new ResourceChangedRequest(
+                contextId, officerId, type, data, true));
+    }
+
+    /**
+     * Delete a batch of natural and corporate disqualifications, applying the same rules as a single delete to
+     * each item. The documents are read with one query per officer type and each deleted by its own guarded delete. An
+     * item whose document was written again between the read and the delete is read and checked again, up to
+     * {@value #MAX_ATTEMPTS} times in all. An officer id repeated in the batch is invalid after its first item,
+     * as both would delete the same document. An item is applied only if this batch deleted its document.
+     *
+     * @param contextId Id used for chsKafkaCall
+     * @param items     Deletes to be applied
+     * @return the status of each item, in request order
+     */
+    public List<BulkDisqualificationResult> processBulkDeletions(String contextId, List<BulkDeleteItem> items) {
+        List<BulkItemStatus> statuses = new ArrayList<>(Collections.nCopies(items.size(), BulkItemStatus.INVALID));
+        List<DisqualificationResourceType> types = new ArrayList<>(Collections.nCopies(items.size(), null));
+        List<Integer> pending = new ArrayList<>(items.size());
+        Set<String> officerIds = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (!officerIds.add(items.get(i).officerId())) {
+                LOGGER.error("Officer %s repeated in bulk delete".formatted(items.get(i).officerId()),
+                        DataMapHolder.getLogMap());
+                continue;
+            }
             try {
-                repository.deleteById(officerId);
-            } catch (TransientDataAccessException ex) {
-                LOGGER.info("Recoverable MongoDB error when deleting document", DataMapHolder.getLogMap());
-                throw new BadGatewayException("Recoverable MongoDB error when deleting document", ex);
-            } catch (DataAccessException ex) {
-                LOGGER.error("MongoDB error when deleting document", ex, DataMapHolder.getLogMap());
-                throw new BadGatewayException("MongoDB error when deleting document", ex);
+                types.set(i, DisqualificationResourceType.valueOfOfficerType(items.get(i).officerType()));
+                pending.add(i);
+            } catch (IllegalArgumentException ex) {
+                LOGGER.error("Invalid officer type for officer %s".formatted(items.get(i).officerId()), ex,
+                        DataMapHolder.getLogMap());
             }
-            disqualifiedOfficerApiService.invokeChsKafkaApi(new ResourceChangedRequest(
-                    contextId, officerId, type, data, true));
-        } else {
-            disqualifiedOfficerApiService.invokeChsKafkaApi(new ResourceChangedRequest(
-                    contextId, officerId, type, null, true));
+        }
+
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            List<Integer> changed = deleteOnce(contextId, items, types, pending, statuses);
+            if (!changed.isEmpty() && attempt >= MAX_ATTEMPTS) {
+                for (int position : changed) {
+                    LOGGER.info("Document changed since read, not deleted for officer %s"
+                            .formatted(items.get(position).officerId()), DataMapHolder.getLogMap());
+                    statuses.set(position, BulkItemStatus.FAILED);
+                }
+                break;
+            }
+            pending = changed;
+        }
+        LOGGER.info("Bulk deletions processed: %d items".formatted(items.size()), DataMapHolder.getLogMap());
+
+        List<BulkDisqualificationResult> response = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            response.add(new BulkDisqualificationResult(items.get(i).officerId(), statuses.get(i)));
+        }
+        return response;
+    }
+
+    /**
+     * Reads, checks and deletes the pending items, setting the status of each one settled.
+     *
+     * @return positions of the items whose document was written again since it was read
+     */
+    private List<Integer> deleteOnce(String contextId, List<BulkDeleteItem> items,
+            List<DisqualificationResourceType> types, List<Integer> pending, List<BulkItemStatus> statuses) {
+        Map<DisqualificationResourceType, Set<String>> idsByType = new EnumMap<>(DisqualificationResourceType.class);
+        for (int i : pending) {
+            idsByType.computeIfAbsent(types.get(i), key -> new HashSet<>()).add(items.get(i).officerId());
+        }
+
+        Map<DisqualificationResourceType, Map<String, DisqualificationDocument>> documentsByType =
+                new EnumMap<>(DisqualificationResourceType.class);
+        idsByType.forEach((type, ids) -> documentsByType.put(type,
+                delete(() -> deletionDataService.findAllById(type, ids))));
+
+        List<DisqualificationDocument> documents = new ArrayList<>(pending.size());
+        List<Integer> positions = new ArrayList<>(pending.size());
+        List<Object> deletedData = new ArrayList<>(pending.size());
+        for (int i : pending) {
+            DisqualificationResourceType type = types.get(i);
+            BulkDeleteItem item = items.get(i);
+            DisqualificationDocument document = documentsByType.get(type).get(item.officerId());
+            if (document == null) {
+                LOGGER.info("Document not found in MongoDB for officer %s".formatted(item.officerId()),
+                        DataMapHolder.getLogMap());
+                statuses.set(i, notifyBulkItemDeleted(contextId, item.officerId(), type, null,
+                        BulkItemStatus.NOT_FOUND));
+                continue;
+            }
+            try {
+                deletedData.add(deletionDataService.checkDeletable(type, document, item.deltaAt()));
+                documents.add(document);
+                positions.add(i);
+            } catch (ConflictException ex) {
+                statuses.set(i, BulkItemStatus.STALE);
+            } catch (RuntimeException ex) {
+                LOGGER.error("Invalid bulk delete for officer %s".formatted(item.officerId()), ex,
+                        DataMapHolder.getLogMap());
+            }
+        }
+
+        Set<String> deleted = delete(() -> repository.deleteAllUnchanged(documents));
+
+        List<Integer> changed = new ArrayList<>();
+        for (int j = 0; j < documents.size(); j++) {
+            int position = positions.get(j);
+            String officerId = documents.get(j).getId();
+            if (deleted.contains(officerId)) {
+                statuses.set(position, notifyBulkItemDeleted(contextId, officerId, types.get(position),
+                        deletedData.get(j), BulkItemStatus.APPLIED));
+            } else {
+                changed.add(position);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * The stored document is already gone, so a failed resource changed call marks the item failed for the
+     * caller to resend; resending it finds no document and sends the deleted event again with null data.
+     */
+    private BulkItemStatus notifyBulkItemDeleted(String contextId, String officerId,
+            DisqualificationResourceType type, Object data, BulkItemStatus status) {
+        if (data != null) {
+            responseCache.invalidate(officerId);
+        }
+        try {
+            disqualifiedOfficerApiService.invokeChsKafkaApi(
+                    new ResourceChangedRequest(contextId, officerId, type, data, true));
+            return status;
+        } catch (RuntimeException ex) {
+            LOGGER.error("ChsKafka api DELETED failed for officer %s".formatted(officerId), ex,
+                    DataMapHolder.getLogMap());
+            return BulkItemStatus.FAILED;
+        }
+    }
+
+    private static <T> T delete(Supplier<T> operation) {
+        try {
+            return operation.get();
+        } catch (TransientDataAccessException ex) {
+            LOGGER.info("Recoverable MongoDB error when deleting document", DataMapHolder.getLogMap());
+            throw new BadGatewayException("Recoverable MongoDB error when deleting document", ex);
+        } catch (DataAccessException ex) {
+            LOGGER.error("MongoDB error when deleting document", ex, DataMapHolder.getLogMap());
+            throw new BadGatewayException("MongoDB error when deleting document", ex);
         }
     }
 }
@@ -4,72 +4,203 @@ import static uk.gov.companieshouse.api.disqualification.CorporateDisqualificati
 import static uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION;
 import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
 
+import io.micrometer.core.annotation.Timed;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.ConflictException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.CorporateDisqualifiedOfficerRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualificationEtag;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.NaturalDisqualifiedOfficerRepository;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
 
 @Component
+@Timed(value = "disqualification.service", histogram = true)
 public class DeletionDataService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
     private static final String STALE_DELTA_AT_MESSAGE = "[delta_at] field on request is stale";
     private static final String NULL_DATA_MESSAGE = "Document not found in MongoDB - invoking CHS Kafka API with null data";
 
+    private final DisqualifiedOfficerRepository repository;
     private final NaturalDisqualifiedOfficerRepository naturalRepository;
     private final CorporateDisqualifiedOfficerRepository corporateRepository;
     private final DeltaAtHandler deltaAtHandler;
+    private final StaleDeltaCounter staleDeltas;
 
-    public DeletionDataService(NaturalDisqualifiedOfficerRepository naturalRepository,
-            CorporateDisqualifiedOfficerRepository corporateRepository, DeltaAtHandler deltaAtHandler) {
+    public DeletionDataService(DisqualifiedOfficerRepository repository,
+            NaturalDisqualifiedOfficerRepository naturalRepository,
+            CorporateDisqualifiedOfficerRepository corporateRepository, DeltaAtHandler deltaAtHandler,
+            StaleDeltaCounter staleDeltas) {
+        this.repository = repository;
         this.naturalRepository = naturalRepository;
         this.corporateRepository = corporateRepository;
         this.deltaAtHandler = deltaAtHandler;
+        this.staleDeltas = staleDeltas;
     }
 
+    /**
+     * Delete the natural disqualification unless the request is stale.
+     *
+     * @return the deleted data to send as deleted data, or null if there was no document
+     */
     public Object processNaturalDisqualificationData(final String officerId, final String requestDeltaAt) {
-        return naturalRepository.findById(officerId)
+        return findAndDelete(DisqualificationResourceType.NATURAL, officerId, requestDeltaAt,
+                NaturalDisqualificationDocument.class)
                 .map(document -> {
-                    if (document.isCorporateOfficer()) {
-                        LOGGER.error("Delete requested for natural officer when corporate officer found in DB", DataMapHolder.getLogMap());
-                        throw new BadRequestException(
-                                "Delete requested for natural officer when corporate officer found in DB");
-                    }
-
-                    if (deltaAtHandler.isRequestStale(requestDeltaAt, document.getDeltaAt())) {
-                        LOGGER.error(STALE_DELTA_AT_MESSAGE, DataMapHolder.getLogMap());
-                        throw new ConflictException(STALE_DELTA_AT_MESSAGE);
-                    }
                     document.getData().setKind(NATURAL_DISQUALIFICATION);
-                    return document.getData();
-                }).orElseGet(() -> {
-                    LOGGER.info(NULL_DATA_MESSAGE, DataMapHolder.getLogMap());
-                    return null;
-                });
+                    return (Object) document.getData();
+                })
+                .orElseGet(() -> explainMissedDelete(DisqualificationResourceType.NATURAL, officerId));
     }
 
+    /**
+     * Delete the corporate disqualification unless the request is stale.
+     *
+     * @return the deleted data to send as deleted data, or null if there was no document
+     */
     public Object processCorporateDisqualificationData(final String officerId, final String requestDeltaAt) {
-        return corporateRepository.findById(officerId)
+        return findAndDelete(DisqualificationResourceType.CORPORATE, officerId, requestDeltaAt,
+                CorporateDisqualificationDocument.class)
                 .map(document -> {
-                    if (!document.isCorporateOfficer()) {
-                        LOGGER.error("Delete requested for corporate officer when natural officer found in DB", DataMapHolder.getLogMap());
-                        throw new BadRequestException(
-                                "Delete requested for corporate officer when natural officer found in DB");
-                    }
-
-                    if (deltaAtHandler.isRequestStale(requestDeltaAt, document.getDeltaAt())) {
-                        LOGGER.error(STALE_DELTA_AT_MESSAGE, DataMapHolder.getLogMap());
-                        throw new ConflictException(STALE_DELTA_AT_MESSAGE);
-                    }
                     document.getData().setKind(CORPORATE_DISQUALIFICATION);
-                    return document.getData();
-                }).orElseGet(() -> {
-                    LOGGER.info(NULL_DATA_MESSAGE, DataMapHolder.getLogMap());
-                    return null;
-                });
+                    return (Object) document.getData();
+                })
+                .orElseGet(() -> explainMissedDelete(DisqualificationResourceType.CORPORATE, officerId));
+    }
+
+    /**
+     * Fetch the documents of one officer type for a batch of officer ids in a single query.
+     *
+     * @param type       officer type the deletes were requested for
+     * @param officerIds Mongo ids
+     * @return the documents found, keyed by officer id
+     */
+    public Map<String, DisqualificationDocument> findAllById(DisqualificationResourceType type,
+            Collection<String> officerIds) {
+        Iterable<? extends DisqualificationDocument> documents = type == DisqualificationResourceType.CORPORATE
+                ? corporateRepository.findAllById(officerIds) : naturalRepository.findAllById(officerIds);
+        Map<String, DisqualificationDocument> documentsById = new HashMap<>();
+        documents.forEach(document -> documentsById.put(document.getId(), document));
+        return documentsById;
+    }
+
+    /**
+     * Apply the delete rules to a stored document.
+     *
+     * @param type           officer type the delete was requested for
+     * @param document       stored document, read as the requested officer type
+     * @param requestDeltaAt delta_at on the delete request
+     * @return the document data to send as deleted data
+     * @throws BadRequestException if the stored document is the other officer type
+     * @throws ConflictException   if the stored document is newer than the request
+     */
+    public Object checkDeletable(final DisqualificationResourceType type, final DisqualificationDocument document,
+            final String requestDeltaAt) {
+        if (document.isCorporateOfficer() != (type == DisqualificationResourceType.CORPORATE)) {
+            throw typeMismatch(type);
+        }
+        if (deltaAtHandler.isRequestStale(requestDeltaAt, document.getDeltaAt())) {
+            throw stale(type);
+        }
+        return switch (document) {
+            case NaturalDisqualificationDocument natural -> {
+                natural.getData().setKind(NATURAL_DISQUALIFICATION);
+                yield natural.getData();
+            }
+            case CorporateDisqualificationDocument corporateDocument -> {
+                corporateDocument.getData().setKind(CORPORATE_DISQUALIFICATION);
+                yield corporateDocument.getData();
+            }
+            default -> throw new IllegalStateException("Unknown disqualification document type");
+        };
+    }
+
+    private <T extends DisqualificationDocument> Optional<T> findAndDelete(DisqualificationResourceType type,
+            String officerId, String requestDeltaAt, Class<T> documentClass) {
+        long requestDeltaAtMicros;
+        try {
+            requestDeltaAtMicros = DeltaAtCodec.parseEpochMicros(requestDeltaAt);
+        } catch (DateTimeParseException ex) {
+            return explainUnparsableDelete(type, officerId, ex);
+        }
+        LOGGER.info("Attempting to delete disqualification", DataMapHolder.getLogMap());
+        return mongo(() -> repository.findAndDeleteIfNotStale(officerId,
+                type == DisqualificationResourceType.CORPORATE, requestDeltaAt, requestDeltaAtMicros,
+                documentClass));
+    }
+
+    /**
+     * The request delta_at cannot be compared, so nothing is deleted. As when the delta_at was only parsed against
+     * a stored document, a missing officer is still reported with null data and the other officer type is still
+     * a 400; otherwise the parse failure is.
+     */
+    private <T> Optional<T> explainUnparsableDelete(DisqualificationResourceType type, String officerId,
+            DateTimeParseException ex) {
+        DisqualificationEtag stored = mongo(() -> repository.findEtagById(officerId)).orElse(null);
+        if (stored == null) {
+            return Optional.empty();
+        }
+        if (stored.corporateOfficer() != (type == DisqualificationResourceType.CORPORATE)) {
+            throw typeMismatch(type);
+        }
+        throw ex;
+    }
+
+    /**
+     * The guarded delete matched nothing, so reads only the stored officer type to tell a missing document from
+     * one of the other type or a newer one.
+     */
+    private Object explainMissedDelete(DisqualificationResourceType type, String officerId) {
+        DisqualificationEtag stored = mongo(() -> repository.findEtagById(officerId)).orElse(null);
+        if (stored == null) {
+            LOGGER.info(NULL_DATA_MESSAGE, DataMapHolder.getLogMap());
+            return null;
+        }
+        if (stored.corporateOfficer() != (type == DisqualificationResourceType.CORPORATE)) {
+            throw typeMismatch(type);
+        }
+        throw stale(type);
+    }
+
+    private static BadRequestException typeMismatch(DisqualificationResourceType type) {
+        String message = type == DisqualificationResourceType.CORPORATE
+                ? "Delete requested for corporate officer when natural officer found in DB"
+                : "Delete requested for natural officer when corporate officer found in DB";
+        LOGGER.error(message, DataMapHolder.getLogMap());
+        return new BadRequestException(message);
+    }
+
+    private ConflictException stale(DisqualificationResourceType type) {
+        staleDeltas.delete(type);
+        LOGGER.error(STALE_DELTA_AT_MESSAGE, DataMapHolder.getLogMap());
+        return new ConflictException(STALE_DELTA_AT_MESSAGE);
+    }
+
+    private static <T> T mongo(Supplier<T> operation) {
+        try {
+            return operation.get();
+        } catch (TransientDataAccessException ex) {
+            LOGGER.info("Recoverable MongoDB error when deleting document", DataMapHolder.getLogMap());
+            throw new BadGatewayException("Recoverable MongoDB error when deleting document", ex);
+        } catch (DataAccessException ex) {
+            LOGGER.error("MongoDB error when deleting document", ex, DataMapHolder.getLogMap());
+            throw new BadGatewayException("MongoDB error when deleting document", ex);
+        }
     }
 }
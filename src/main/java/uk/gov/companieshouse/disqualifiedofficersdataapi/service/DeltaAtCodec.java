@@ -0,0 +1,138 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Fixed width yyyyMMddHHmmssSSSSSS delta_at codec working on primitive epoch micros.
+ * <p>
+ * Parsing accepts exactly what a UTC yyyyMMddHHmmssSSSSSS {@link DateTimeFormatter} accepts for a 20 digit
+ * input, including its smart resolution: a day beyond the end of the month is moved back to the last day of
+ * that month, and 24:00:00.000000 is midnight at the start of the next day.
+ */
+public final class DeltaAtCodec {
+
+    static final int LENGTH = 20;
+
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final DateTimeFormatter FALLBACK_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSSSSS");
+
+    private DeltaAtCodec() {
+    }
+
+    /**
+     * Parses a delta_at string to microseconds since the epoch, reading it as UTC.
+     *
+     * @param input delta_at string
+     * @return epoch micros
+     * @throws DateTimeParseException if the input is not a valid delta_at
+     */
+    public static long parseEpochMicros(final CharSequence input) {
+        if (input == null) {
+            throw new NullPointerException("text");
+        }
+        if (input.length() != LENGTH) {
+            throw new DateTimeParseException("Text '" + input + "' could not be parsed as a delta_at", input, 0);
+        }
+        final int year = digits(input, 0, 4);
+        final int month = digits(input, 4, 2);
+        int day = digits(input, 6, 2);
+        final int hour = digits(input, 8, 2);
+        final int minute = digits(input, 10, 2);
+        final int second = digits(input, 12, 2);
+        final int micros = digits(input, 14, 6);
+
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31
+                || minute > 59 || second > 59 || hour > 24 || (hour == 24 && (minute | second | micros) != 0)) {
+            throw new DateTimeParseException("Text '" + input + "' could not be parsed as a delta_at", input, 0);
+        }
+        day = Math.min(day, lengthOfMonth(year, month));
+
+        long seconds = epochDay(year, month, day) * SECONDS_PER_DAY + hour * 3_600L + minute * 60L + second;
+        return seconds * MICROS_PER_SECOND + micros;
+    }
+
+    /**
+     * Converts a delta_at to microseconds since the epoch, reading its local date and time as UTC in the
+     * same way the stored delta_at string is formatted and parsed.
+     */
+    public static long toEpochMicros(final OffsetDateTime deltaAt) {
+        long seconds = epochDay(deltaAt.getYear(), deltaAt.getMonthValue(), deltaAt.getDayOfMonth()) * SECONDS_PER_DAY
+                + deltaAt.getHour() * 3_600L + deltaAt.getMinute() * 60L + deltaAt.getSecond();
+        return seconds * MICROS_PER_SECOND + deltaAt.getNano() / 1_000;
+    }
+
+    /**
+     * Formats the local date and time of a delta_at as yyyyMMddHHmmssSSSSSS.
+     */
+    public static String format(final OffsetDateTime deltaAt) {
+        final int year = deltaAt.getYear();
+        if (year < 1 || year > 9999) {
+            return FALLBACK_FORMATTER.format(deltaAt);
+        }
+        char[] chars = new char[LENGTH];
+        write(chars, 0, year, 4);
+        write(chars, 4, deltaAt.getMonthValue(), 2);
+        write(chars, 6, deltaAt.getDayOfMonth(), 2);
+        write(chars, 8, deltaAt.getHour(), 2);
+        write(chars, 10, deltaAt.getMinute(), 2);
+        write(chars, 12, deltaAt.getSecond(), 2);
+        write(chars, 14, deltaAt.getNano() / 1_000, 6);
+        return new String(chars);
+    }
+
+    private static int digits(final CharSequence input, final int offset, final int width) {
+        int value = 0;
+        for (int i = offset; i < offset + width; i++) {
+            int digit = input.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new DateTimeParseException("Text '" + input + "' could not be parsed at index " + i, input, i);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static void write(final char[] chars, final int offset, int value, final int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static int lengthOfMonth(final int year, final int month) {
+        return switch (month) {
+            case 2 -> isLeap(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isLeap(final int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * Days since 1970-01-01 for a proleptic Gregorian date, as in {@link java.time.LocalDate#toEpochDay()}.
+     */
+    private static long epochDay(final int year, final int month, final int day) {
+        long y = year;
+        long total = 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += (367L * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeap(year)) {
+                total--;
+            }
+        }
+        return total - 719_528L;
+    }
+}
@@ -1,6 +1,7 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
 
-import static uk.gov.companieshouse.disqualifiedofficersdataapi.service.DateConverter.deltaAtToOffsetDateTime;
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.service.DeltaAtCodec.parseEpochMicros;
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.service.DeltaAtCodec.toEpochMicros;
 
 import java.time.OffsetDateTime;
 import org.apache.commons.lang3.StringUtils;
@@ -11,11 +12,11 @@ public class DeltaAtHandler {
 
     public boolean isRequestStale(final String requestDeltaAt, final String docDeltaAt) {
         return StringUtils.isNotBlank(docDeltaAt)
-                && deltaAtToOffsetDateTime(requestDeltaAt).isBefore(deltaAtToOffsetDateTime(docDeltaAt));
+                && parseEpochMicros(requestDeltaAt) < parseEpochMicros(docDeltaAt);
     }
 
     public boolean isRequestStale(OffsetDateTime requestDeltaAt, final String docDeltaAt) {
         return StringUtils.isNotBlank(docDeltaAt)
-                && requestDeltaAt.isBefore(deltaAtToOffsetDateTime(docDeltaAt));
+                && toEpochMicros(requestDeltaAt) < parseEpochMicros(docDeltaAt);
     }
 }
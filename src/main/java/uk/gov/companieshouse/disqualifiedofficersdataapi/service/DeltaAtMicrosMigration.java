@@ -0,0 +1,109 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
+
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Backfills delta_at_micros on documents written before the field existed, a batch at a time in the
+ * background, so staleness checks can compare numbers inside MongoDB.
+ */
+@Component
+public class DeltaAtMicrosMigration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+    private static final String ID = "_id";
+    private static final String DELTA_AT = "delta_at";
+    private static final String DELTA_AT_MICROS = "delta_at_micros";
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pauseMillis;
+
+    public DeltaAtMicrosMigration(MongoTemplate mongoTemplate,
+            @Value("${delta-at.migration.enabled}") boolean enabled,
+            @Value("${delta-at.migration.batch-size}") int batchSize,
+            @Value("${delta-at.migration.pause-millis}") long pauseMillis) {
+        this.mongoTemplate = mongoTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            Thread.ofPlatform().name("delta-at-migration").daemon().start(this::migrate);
+        }
+    }
+
+    void migrate() {
+        String collectionName = mongoTemplate.getCollectionName(DisqualificationDocument.class);
+        try {
+            mongoTemplate.indexOps(collectionName)
+                    .ensureIndex(new Index().on(DELTA_AT_MICROS, Sort.Direction.ASC).named(DELTA_AT_MICROS));
+
+            Object lastId = null;
+            long migrated = 0;
+            List<Document> batch;
+            while (!(batch = nextBatch(collectionName, lastId)).isEmpty()) {
+                BulkOperations operations = mongoTemplate.bulkOps(BulkMode.UNORDERED, collectionName);
+                int updates = 0;
+                for (Document document : batch) {
+                    lastId = document.get(ID);
+                    String deltaAt = document.getString(DELTA_AT);
+                    try {
+                        // Only set the field if delta_at is unchanged, so a concurrent PUT is never overwritten
+                        operations.updateOne(
+                                new Query(Criteria.where(ID).is(lastId).and(DELTA_AT).is(deltaAt)),
+                                Update.update(DELTA_AT_MICROS, DeltaAtCodec.parseEpochMicros(deltaAt)));
+                        updates++;
+                    } catch (DateTimeParseException ex) {
+                        LOGGER.info("Skipping delta_at migration for document with unparseable delta_at");
+                    }
+                }
+                if (updates > 0) {
+                    migrated += operations.execute().getModifiedCount();
+                }
+                Thread.sleep(pauseMillis);
+            }
+            LOGGER.info("delta_at_micros migration complete, %d documents updated".formatted(migrated));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.info("delta_at_micros migration interrupted");
+        } catch (DataAccessException ex) {
+            LOGGER.error("MongoDB error during delta_at_micros migration", ex);
+        }
+    }
+
+    private List<Document> nextBatch(String collectionName, Object lastId) {
+        Query query = new Query(Criteria.where(DELTA_AT_MICROS).exists(false)
+                .and(DELTA_AT).nin(Arrays.asList(null, "")));
+        if (lastId != null) {
+            query.addCriteria(Criteria.where(ID).gt(lastId));
+        }
+        query.with(Sort.by(ID)).limit(batchSize);
+        query.fields().include(ID, DELTA_AT);
+        return mongoTemplate.find(query, Document.class, collectionName);
+    }
+}
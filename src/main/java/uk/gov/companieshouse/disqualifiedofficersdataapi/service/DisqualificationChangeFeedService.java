@@ -0,0 +1,68 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationChanges;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Pages through the change stream of the disqualifications collection, so consumers that missed a
+ * resource-changed notification can catch up from their last token instead of rescanning with the export.
+ */
+@Service
+@Timed(value = "disqualification.service", histogram = true)
+public class DisqualificationChangeFeedService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+
+    private final DisqualifiedOfficerRepository repository;
+    private final int maximumItems;
+    private final long maxAwaitMillis;
+
+    public DisqualificationChangeFeedService(DisqualifiedOfficerRepository repository,
+            @Value("${change-feed.maximum-items}") int maximumItems,
+            @Value("${change-feed.max-await-millis}") long maxAwaitMillis) {
+        this.repository = repository;
+        this.maximumItems = maximumItems;
+        this.maxAwaitMillis = maxAwaitMillis;
+    }
+
+    /**
+     * Retrieve the changes made after the resume token.
+     *
+     * @param resumeAfter token from the last page read, or null to start from now
+     * @param limit       most changes to return, or null for the maximum
+     * @return the changes, oldest first, and the token to pass for the next page
+     */
+    public DisqualificationChanges retrieveChanges(String resumeAfter, Integer limit) {
+        if (limit != null && (limit < 1 || limit > maximumItems)) {
+            throw new BadRequestException("Change feed limit must be between 1 and %d".formatted(maximumItems));
+        }
+        try {
+            DisqualificationChanges changes = repository.findChanges(resumeAfter,
+                    limit == null ? maximumItems : limit, maxAwaitMillis);
+            LOGGER.info("Change feed read: %d changes".formatted(changes.changes().size()),
+                    DataMapHolder.getLogMap());
+            return changes;
+        } catch (IllegalArgumentException ex) {
+            LOGGER.info("Change feed cannot resume after the given token", DataMapHolder.getLogMap());
+            throw new BadRequestException("Resume token is not valid or has expired", ex);
+        } catch (TransientDataAccessException ex) {
+            LOGGER.info("Recoverable MongoDB error when reading change feed", DataMapHolder.getLogMap());
+            throw new BadGatewayException("Recoverable MongoDB error when reading change feed", ex);
+        } catch (DataAccessException ex) {
+            LOGGER.error("MongoDB error when reading change feed", ex, DataMapHolder.getLogMap());
+            throw new BadGatewayException("MongoDB error when reading change feed", ex);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationExportLine;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationExportTrailer;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ExportFilter;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+/**
+ * Writes every natural then every corporate disqualification as newline delimited JSON.
+ * <p>
+ * Documents are read through a cursor one batch at a time and each line is written straight to the output
+ * stream, so a slow reader holds back the cursor rather than the export building up in memory. The last line is
+ * a trailer giving the line count, written only when the export completes.
+ */
+@Service
+@Timed(value = "disqualification.service", histogram = true)
+public class DisqualificationExportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
+    private static final String NATURAL = "natural";
+    private static final String CORPORATE = "corporate";
+
+    private final DisqualifiedOfficerRepository repository;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public DisqualificationExportService(DisqualifiedOfficerRepository repository, ObjectMapper objectMapper,
+            @Value("${export.batch-size}") int batchSize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Export the disqualifications matching the filter, one JSON object per line, then a
+     * {@code {"complete":true,"lines":N}} trailer. Once the output has filled a buffer the response is committed
+     * with a 200, so a failure part way through cannot change the status; it writes no trailer instead, and a
+     * reader treats an export that ends without one as truncated.
+     *
+     * @param filter updated.at and delta_at bounds
+     * @param out    stream to write to, left open
+     * @return the number of disqualification lines written, not counting the trailer
+     */
+    public long export(ExportFilter filter, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+        long lines;
+        try {
+            lines = write(generator, NATURAL,
+                    repository.streamAll(false, filter, batchSize, NaturalDisqualificationDocument.class),
+                    document -> {
+                        document.getData().setKind(NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION);
+                        return document.getData();
+                    });
+            lines += write(generator, CORPORATE,
+                    repository.streamAll(true, filter, batchSize, CorporateDisqualificationDocument.class),
+                    document -> {
+                        document.getData().setKind(CorporateDisqualificationApi.KindEnum.CORPORATE_DISQUALIFICATION);
+                        return document.getData();
+                    });
+        } catch (DataAccessException ex) {
+            LOGGER.error("MongoDB error when exporting disqualifications", ex, DataMapHolder.getLogMap());
+            throw new BadGatewayException("MongoDB error when exporting disqualifications", ex);
+        }
+        generator.writeObject(new DisqualificationExportTrailer(true, lines));
+        generator.writeRaw('\n');
+        generator.close();
+        LOGGER.info("Disqualifications exported: %d lines".formatted(lines), DataMapHolder.getLogMap());
+        return lines;
+    }
+
+    private static <T extends DisqualificationDocument> long write(JsonGenerator generator, String officerType,
+            Stream<T> documents, Function<T, Object> data) throws IOException {
+        long lines = 0;
+        try (documents) {
+            Iterator<T> iterator = documents.iterator();
+            while (iterator.hasNext()) {
+                T document = iterator.next();
+                generator.writeObject(new DisqualificationExportLine(document.getId(), officerType,
+                        document.getDeltaAt(), data.apply(document)));
+                generator.writeRaw('\n');
+                lines++;
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,167 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.SerDesException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+
+/**
+ * Bounded cache of serialised GET response bodies and their etags keyed by officer type and id.
+ * <p>
+ * Entries are loaded outside any lock, so a MongoDB read never holds a map bin lock and pins a virtual thread's
+ * carrier. A load is cached only while it is still the key's in-flight load, and {@link #invalidate(String)} ends
+ * that before removing the entry, so a write followed by an invalidation never leaves a body read before the write
+ * cached.
+ * <p>
+ * Concurrent misses for the same key share the first caller's load, including a failed one, so a burst of GETs for
+ * one officer makes a single MongoDB read. The callers that waited on another's load are counted in
+ * {@value #COLLAPSED_METRIC}.
+ */
+@Component
+public class DisqualificationResponseCache implements MeterBinder {
+
+    static final String CACHE_NAME = "disqualification-responses";
+    static final String COLLAPSED_METRIC = "disqualification.responses.collapsed";
+
+    private final Cache<Key, CachedResponse> cache;
+    private final ConcurrentMap<Key, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder collapsed = new LongAdder();
+    private final ObjectMapper objectMapper;
+
+    public DisqualificationResponseCache(ObjectMapper objectMapper,
+            @Value("${response-cache.maximum-size}") long maximumSize,
+            @Value("${response-cache.ttl-seconds}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached response, loading it already serialised on a miss.
+     *
+     * @param type      officer type
+     * @param officerId officer id
+     * @param loader    supplies the response, throwing to leave the cache untouched
+     * @return JSON response body and its etag
+     */
+    public CachedResponse get(DisqualificationResourceType type, String officerId, Supplier<CachedResponse> loader) {
+        Key key = new Key(type, officerId);
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<CachedResponse> flight = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null) {
+            collapsed.increment();
+            return join(leader);
+        }
+        try {
+            CachedResponse response = cache.asMap().get(key);
+            if (response == null) {
+                CachedResponse loaded = loader.get();
+                inFlight.computeIfPresent(key, (k, current) -> {
+                    if (current == flight) {
+                        cache.put(k, loaded);
+                    }
+                    return current;
+                });
+                response = loaded;
+            }
+            flight.complete(response);
+            return response;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Serialises a response body for a loader passed to {@link #get(DisqualificationResourceType, String,
+     * Supplier)}.
+     *
+     * @param etag etag of the response body
+     * @param body response body
+     * @return JSON response body and its etag
+     */
+    public CachedResponse toCachedResponse(String etag, Object body) {
+        return new CachedResponse(etag, serialise(body));
+    }
+
+    /**
+     * Returns the cached response without loading it.
+     *
+     * @return the cached response, or null on a miss
+     */
+    public CachedResponse getIfPresent(DisqualificationResourceType type, String officerId) {
+        return cache.getIfPresent(new Key(type, officerId));
+    }
+
+    /**
+     * Removes the cached natural and corporate responses for an officer id.
+     */
+    public void invalidate(String officerId) {
+        for (DisqualificationResourceType type : DisqualificationResourceType.values()) {
+            Key key = new Key(type, officerId);
+            inFlight.remove(key);
+            cache.invalidate(key);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        FunctionCounter.builder(COLLAPSED_METRIC, collapsed, LongAdder::doubleValue)
+                .tag("cache", CACHE_NAME)
+                .description("GETs served by another request's in-flight load")
+                .register(registry);
+    }
+
+    private static CachedResponse join(CompletableFuture<CachedResponse> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private byte[] serialise(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new SerDesException("Failed to serialise disqualification response", ex);
+        }
+    }
+
+    public record CachedResponse(String etag, byte[] body) {
+    }
+
+    private record Key(DisqualificationResourceType type, String officerId) {
+    }
+}
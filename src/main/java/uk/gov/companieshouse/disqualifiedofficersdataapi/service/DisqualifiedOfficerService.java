@@ -2,31 +2,50 @@ package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
 
 import static uk.gov.companieshouse.disqualifiedofficersdataapi.DisqualifiedOfficersDataApiApplication.NAMESPACE;
 
+import io.micrometer.core.annotation.Timed;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.TransientDataAccessException;
 import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.InternalCorporateDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.api.DisqualifiedOfficerApiService;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.api.ResourceChangedRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.FeatureFlags;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.ConflictException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.NotFoundException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.logging.DataMapHolder;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkDisqualificationItem;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkDisqualificationResult;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkItemStatus;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Created;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationBatch;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.CorporateDisqualifiedOfficerRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualificationEtag;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.NaturalDisqualifiedOfficerRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.UpsertResult;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.transform.DisqualificationTransformer;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
-import java.util.Optional;
 
 @Service
+@Timed(value = "disqualification.service", histogram = true)
 public class DisqualifiedOfficerService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NAMESPACE);
@@ -37,18 +56,24 @@ public class DisqualifiedOfficerService {
     private final CorporateDisqualifiedOfficerRepository corporateRepository;
     private final DisqualificationTransformer transformer;
     private final DisqualifiedOfficerApiService disqualifiedOfficerApiService;
-    private final DeltaAtHandler deltaAtHandler;
+    private final DisqualificationResponseCache responseCache;
+    private final FeatureFlags featureFlags;
+    private final StaleDeltaCounter staleDeltas;
 
     public DisqualifiedOfficerService(DisqualifiedOfficerRepository repository,
             NaturalDisqualifiedOfficerRepository naturalRepository,
             CorporateDisqualifiedOfficerRepository corporateRepository, DisqualificationTransformer transformer,
-            DisqualifiedOfficerApiService disqualifiedOfficerApiService, DeltaAtHandler deltaAtHandler) {
+            DisqualifiedOfficerApiService disqualifiedOfficerApiService,
+            DisqualificationResponseCache responseCache, FeatureFlags featureFlags,
+            StaleDeltaCounter staleDeltas) {
         this.repository = repository;
         this.naturalRepository = naturalRepository;
         this.corporateRepository = corporateRepository;
         this.transformer = transformer;
         this.disqualifiedOfficerApiService = disqualifiedOfficerApiService;
-        this.deltaAtHandler = deltaAtHandler;
+        this.responseCache = responseCache;
+        this.featureFlags = featureFlags;
+        this.staleDeltas = staleDeltas;
     }
 
     /**
@@ -60,18 +85,8 @@ public class DisqualifiedOfficerService {
      */
     public void processNaturalDisqualification(String contextId, String officerId,
             InternalNaturalDisqualificationApi requestBody) {
-        Optional<DisqualificationDocument> existingDocument = repository.findById(officerId);
-
-        if (existingDocument.isEmpty() ||
-                !deltaAtHandler.isRequestStale(requestBody.getInternalData().getDeltaAt(),
-                        existingDocument.get().getDeltaAt())) {
-            DisqualificationDocument document = transformer.transformNaturalDisqualifiedOfficer(officerId, requestBody);
-            saveAndCallChsKafka(contextId, officerId, document, DisqualificationResourceType.NATURAL,
-                    existingDocument.orElse(null));
-        } else {
-            LOGGER.error(STALE_DELTA_AT_MESSAGE, DataMapHolder.getLogMap());
-            throw new ConflictException(STALE_DELTA_AT_MESSAGE);
-        }
+        DisqualificationDocument document = transformer.transformNaturalDisqualifiedOfficer(officerId, requestBody);
+        saveAndCallChsKafka(contextId, officerId, document, DisqualificationResourceType.NATURAL);
     }
 
     /**
@@ -83,23 +98,13 @@ public class DisqualifiedOfficerService {
      */
     public void processCorporateDisqualification(String contextId, String officerId,
             InternalCorporateDisqualificationApi requestBody) {
-        Optional<DisqualificationDocument> existingDocument = repository.findById(officerId);
-
-        if (existingDocument.isEmpty() ||
-                !deltaAtHandler.isRequestStale(requestBody.getInternalData().getDeltaAt(),
-                        existingDocument.get().getDeltaAt())) {
-            DisqualificationDocument document = transformer.transformCorporateDisqualifiedOfficer(officerId,
-                    requestBody);
-            saveAndCallChsKafka(contextId, officerId, document, DisqualificationResourceType.CORPORATE,
-                    existingDocument.orElse(null));
-        } else {
-            LOGGER.error(STALE_DELTA_AT_MESSAGE, DataMapHolder.getLogMap());
-            throw new ConflictException(STALE_DELTA_AT_MESSAGE);
-        }
+        DisqualificationDocument document = transformer.transformCorporateDisqualifiedOfficer(officerId,
+                requestBody);
+        saveAndCallChsKafka(contextId, officerId, document, DisqualificationResourceType.CORPORATE);
     }
 
     /**
-     * Save or update the mongo record
+     * Save or update the mongo record, rejecting the request if the stored delta_at is more recent
      *
      * @param contextId Chs kafka id
      * @param officerId Mongo id
@@ -107,17 +112,111 @@ public class DisqualifiedOfficerService {
      */
     private void saveAndCallChsKafka(
             String contextId, String officerId,
-            DisqualificationDocument document, DisqualificationResourceType type,
-            DisqualificationDocument existingDocument) {
+            DisqualificationDocument document, DisqualificationResourceType type) {
 
         DataMapHolder.get().officerType(String.valueOf(type));
-        Optional.ofNullable(existingDocument)
-                .map(DisqualificationDocument::getCreated)
-                .ifPresentOrElse(document::setCreated,
-                        () -> document.setCreated(new Created().setAt(document.getUpdated().getAt())));
+        document.setCreated(new Created().setAt(document.getUpdated().getAt()));
+
+        UpsertResult result = upsert(() -> repository.upsertIfNotStale(document));
+
+        if (result == UpsertResult.STALE) {
+            staleDeltas.upsert(type);
+            LOGGER.error(STALE_DELTA_AT_MESSAGE, DataMapHolder.getLogMap());
+            throw new ConflictException(STALE_DELTA_AT_MESSAGE);
+        }
+        LOGGER.info(result == UpsertResult.INSERTED ? "Disqualification inserted" : "Disqualification replaced",
+                DataMapHolder.getLogMap());
+        responseCache.invalidate(officerId);
+
+        disqualifiedOfficerApiService.invokeChsKafkaApi(
+                new ResourceChangedRequest(contextId, officerId,
+                        type, null, false));
+        LOGGER.info("ChsKafka api CHANGED invoked successfully", DataMapHolder.getLogMap());
+    }
+
+    /**
+     * Save or update a batch of natural and corporate disqualifications in a single bulk write
+     *
+     * @param contextId Id used for chsKafkaCall
+     * @param items     Deltas to be saved
+     * @return the status of each item, in request order
+     */
+    public List<BulkDisqualificationResult> processBulkDisqualifications(String contextId,
+            List<BulkDisqualificationItem> items) {
+        List<BulkItemStatus> statuses = new ArrayList<>(Collections.nCopies(items.size(), BulkItemStatus.FAILED));
+        List<DisqualificationDocument> documents = new ArrayList<>(items.size());
+        List<Integer> positions = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                DisqualificationDocument document = transformBulkItem(items.get(i));
+                document.setCreated(new Created().setAt(document.getUpdated().getAt()));
+                documents.add(document);
+                positions.add(i);
+            } catch (RuntimeException ex) {
+                LOGGER.error("Failed to transform bulk disqualification for officer %s"
+                        .formatted(items.get(i).officerId()), ex, DataMapHolder.getLogMap());
+            }
+        }
+
+        List<UpsertResult> results = upsert(() -> repository.upsertAllIfNotStale(documents));
+
+        for (int j = 0; j < results.size(); j++) {
+            int position = positions.get(j);
+            DisqualificationDocument document = documents.get(j);
+            statuses.set(position, switch (results.get(j)) {
+                case STALE -> {
+                    staleDeltas.upsert(typeOf(document));
+                    yield BulkItemStatus.STALE;
+                }
+                case FAILED -> BulkItemStatus.FAILED;
+                case INSERTED, APPLIED -> notifyBulkItemChanged(contextId, document);
+            });
+        }
+        LOGGER.info("Bulk disqualifications processed: %d items".formatted(items.size()),
+                DataMapHolder.getLogMap());
+
+        List<BulkDisqualificationResult> response = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            response.add(new BulkDisqualificationResult(items.get(i).officerId(), statuses.get(i)));
+        }
+        return response;
+    }
+
+    private DisqualificationDocument transformBulkItem(BulkDisqualificationItem item) {
+        return switch (item.data()) {
+            case InternalNaturalDisqualificationApi natural ->
+                    transformer.transformNaturalDisqualifiedOfficer(item.officerId(), natural);
+            case InternalCorporateDisqualificationApi corporate ->
+                    transformer.transformCorporateDisqualifiedOfficer(item.officerId(), corporate);
+            case null, default -> throw new BadRequestException("Bulk item has no officer_type or data");
+        };
+    }
+
+    /**
+     * The stored document is already current, so a failed resource changed call marks the item failed for the
+     * caller to resend; resending it applies again without being stale.
+     */
+    private BulkItemStatus notifyBulkItemChanged(String contextId, DisqualificationDocument document) {
+        responseCache.invalidate(document.getId());
+        try {
+            disqualifiedOfficerApiService.invokeChsKafkaApi(
+                    new ResourceChangedRequest(contextId, document.getId(), typeOf(document), null, false));
+            return BulkItemStatus.APPLIED;
+        } catch (RuntimeException ex) {
+            LOGGER.error("ChsKafka api CHANGED failed for officer %s".formatted(document.getId()), ex,
+                    DataMapHolder.getLogMap());
+            return BulkItemStatus.FAILED;
+        }
+    }
+
+    private static DisqualificationResourceType typeOf(DisqualificationDocument document) {
+        return document.isCorporateOfficer()
+                ? DisqualificationResourceType.CORPORATE : DisqualificationResourceType.NATURAL;
+    }
 
+    private static <T> T upsert(Supplier<T> operation) {
         try {
-            repository.save(document);
+            return operation.get();
         } catch (TransientDataAccessException ex) {
             LOGGER.info("Recoverable MongoDB error when inserting/updating document", DataMapHolder.getLogMap());
             throw new BadGatewayException("Recoverable MongoDB error when inserting/updating document", ex);
@@ -125,39 +224,116 @@ public class DisqualifiedOfficerService {
             LOGGER.error("MongoDB error when inserting/updating document", ex, DataMapHolder.getLogMap());
             throw new BadGatewayException("MongoDB error when inserting/updating document", ex);
         }
-
-        disqualifiedOfficerApiService.invokeChsKafkaApi(
-                new ResourceChangedRequest(contextId, officerId,
-                        type, null, false));
-        LOGGER.info("ChsKafka api CHANGED invoked successfully", DataMapHolder.getLogMap());
     }
 
+    /**
+     * Retrieve a natural disqualification. A corporate officer with the same id is not matched by the query, so
+     * it is not found without being read. With precomputed responses enabled the stored response body is read
+     * instead of data, falling back to data for documents written before it was enabled.
+     */
     public NaturalDisqualificationDocument retrieveNaturalDisqualification(String officerId) {
-        NaturalDisqualificationDocument disqualificationDocument =
-                naturalRepository.findById(officerId)
-                        .orElseGet(() -> {
-                            LOGGER.info("Record not found in MongoDB", DataMapHolder.getLogMap());
-                            throw new NotFoundException("Record no found in MongoDB");
-                        });
-        if (disqualificationDocument.isCorporateOfficer()) {
-            LOGGER.info("Natural type record not found in MongoDB", DataMapHolder.getLogMap());
-            throw new NotFoundException("Natural type record not found in MongoDB");
+        if (featureFlags.isPrecomputedResponseEnabled()) {
+            NaturalDisqualificationDocument document = naturalRepository.findResponseBodyById(officerId)
+                    .orElseGet(() -> {
+                        LOGGER.info("Natural type record not found in MongoDB", DataMapHolder.getLogMap());
+                        throw new NotFoundException("Natural type record not found in MongoDB");
+                    });
+            if (document.getResponseBody() != null) {
+                return document;
+            }
         }
-        return disqualificationDocument;
+        return naturalRepository.findDataById(officerId)
+                .orElseGet(() -> {
+                    LOGGER.info("Natural type record not found in MongoDB", DataMapHolder.getLogMap());
+                    throw new NotFoundException("Natural type record not found in MongoDB");
+                });
     }
 
+    /**
+     * Retrieve a corporate disqualification. A natural officer with the same id is not matched by the query, so
+     * it is not found without being read. With precomputed responses enabled the stored response body is read
+     * instead of data, falling back to data for documents written before it was enabled.
+     */
     public CorporateDisqualificationDocument retrieveCorporateDisqualification(String officerId) {
-        CorporateDisqualificationDocument disqualificationDocument =
-                corporateRepository.findById(officerId)
-                        .orElseGet(() -> {
-                            LOGGER.info("Record not found in MongoDB", DataMapHolder.getLogMap());
-                            throw new NotFoundException("Record no found in MongoDB");
-                        });
-        if (!disqualificationDocument.isCorporateOfficer()) {
-            LOGGER.info("Corporate type record not found in MongoDB", DataMapHolder.getLogMap());
-            throw new NotFoundException("Corporate type record not found in MongoDB");
+        if (featureFlags.isPrecomputedResponseEnabled()) {
+            CorporateDisqualificationDocument document = corporateRepository.findResponseBodyById(officerId)
+                    .orElseGet(() -> {
+                        LOGGER.info("Corporate type record not found in MongoDB", DataMapHolder.getLogMap());
+                        throw new NotFoundException("Corporate type record not found in MongoDB");
+                    });
+            if (document.getResponseBody() != null) {
+                return document;
+            }
         }
-        return disqualificationDocument;
+        return corporateRepository.findDataById(officerId)
+                .orElseGet(() -> {
+                    LOGGER.info("Corporate type record not found in MongoDB", DataMapHolder.getLogMap());
+                    throw new NotFoundException("Corporate type record not found in MongoDB");
+                });
     }
 
+    /**
+     * Retrieve a batch of natural and corporate disqualifications in a single query. As for a single GET, an id
+     * requested as one officer type but stored as the other is not found.
+     *
+     * @param naturalIds   ids requested as natural officers
+     * @param corporateIds ids requested as corporate officers
+     * @return the disqualifications found, with kind set, and the ids of each type not found
+     */
+    public DisqualificationBatch retrieveDisqualifications(List<String> naturalIds, List<String> corporateIds) {
+        Set<String> officerIds = new LinkedHashSet<>(naturalIds);
+        officerIds.addAll(corporateIds);
+        Map<String, DisqualificationDocument> documents = new LinkedHashMap<>();
+        for (DisqualificationDocument document : repository.findDataByIds(officerIds)) {
+            documents.put(document.getId(), document);
+        }
+
+        Map<String, NaturalDisqualificationApi> natural = new LinkedHashMap<>();
+        List<String> naturalNotFound = new ArrayList<>();
+        for (String officerId : naturalIds) {
+            if (documents.get(officerId) instanceof NaturalDisqualificationDocument document) {
+                document.getData().setKind(NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION);
+                natural.put(officerId, document.getData());
+            } else {
+                naturalNotFound.add(officerId);
+            }
+        }
+        Map<String, CorporateDisqualificationApi> corporate = new LinkedHashMap<>();
+        List<String> corporateNotFound = new ArrayList<>();
+        for (String officerId : corporateIds) {
+            if (documents.get(officerId) instanceof CorporateDisqualificationDocument document) {
+                document.getData().setKind(CorporateDisqualificationApi.KindEnum.CORPORATE_DISQUALIFICATION);
+                corporate.put(officerId, document.getData());
+            } else {
+                corporateNotFound.add(officerId);
+            }
+        }
+        LOGGER.info("Batch of disqualifications retrieved: %d of %d found"
+                .formatted(natural.size() + corporate.size(), naturalIds.size() + corporateIds.size()),
+                DataMapHolder.getLogMap());
+        return new DisqualificationBatch(natural, corporate, naturalNotFound, corporateNotFound);
+    }
+
+    /**
+     * Retrieve only the etag of a disqualification, so conditional GETs can be answered without reading the
+     * whole document.
+     *
+     * @param officerId Mongo id
+     * @param type      officer type the caller asked for
+     * @return the stored etag, which may be null
+     */
+    public String retrieveDisqualificationEtag(String officerId, DisqualificationResourceType type) {
+        DisqualificationEtag etag = repository.findEtagById(officerId)
+                .orElseGet(() -> {
+                    LOGGER.info("Record not found in MongoDB", DataMapHolder.getLogMap());
+                    throw new NotFoundException("Record no found in MongoDB");
+                });
+        boolean corporate = type == DisqualificationResourceType.CORPORATE;
+        if (etag.corporateOfficer() != corporate) {
+            String message = (corporate ? "Corporate" : "Natural") + " type record not found in MongoDB";
+            LOGGER.info(message, DataMapHolder.getLogMap());
+            throw new NotFoundException(message);
+        }
+        return etag.etag();
+    }
 }
@@ -0,0 +1,60 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+
+/**
+ * Counts deltas rejected because the stored disqualification is newer, by operation and officer type. Single
+ * requests answered with a 409 and stale bulk items are counted alike.
+ */
+@Component
+public class StaleDeltaCounter implements MeterBinder {
+
+    static final String METRIC_NAME = "disqualification.deltas.stale";
+
+    private final Map<DisqualificationResourceType, LongAdder> upserts = adders();
+    private final Map<DisqualificationResourceType, LongAdder> deletes = adders();
+
+    /**
+     * Counts a stale PUT or bulk upsert item.
+     */
+    public void upsert(DisqualificationResourceType type) {
+        upserts.get(type).increment();
+    }
+
+    /**
+     * Counts a stale DELETE or bulk delete item.
+     */
+    public void delete(DisqualificationResourceType type) {
+        deletes.get(type).increment();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        register(registry, "upsert", upserts);
+        register(registry, "delete", deletes);
+    }
+
+    private static void register(MeterRegistry registry, String operation,
+            Map<DisqualificationResourceType, LongAdder> counts) {
+        counts.forEach((type, count) -> FunctionCounter.builder(METRIC_NAME, count, LongAdder::doubleValue)
+                .description("Deltas rejected because the stored disqualification is newer")
+                .tag("operation", operation)
+                .tag("officer_type", type.getOfficerType())
+                .register(registry));
+    }
+
+    private static Map<DisqualificationResourceType, LongAdder> adders() {
+        Map<DisqualificationResourceType, LongAdder> counts = new EnumMap<>(DisqualificationResourceType.class);
+        for (DisqualificationResourceType type : DisqualificationResourceType.values()) {
+            counts.put(type, new LongAdder());
+        }
+        return counts;
+    }
+}
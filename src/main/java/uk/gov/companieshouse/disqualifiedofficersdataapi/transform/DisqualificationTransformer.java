@@ -1,24 +1,35 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.transform;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Component;
 import uk.gov.companieshouse.GenerateEtagUtil;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.InternalCorporateDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.InternalDisqualificationApiInternalData;
 import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.FeatureFlags;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.SerDesException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Updated;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DeltaAtCodec;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
-import java.time.format.DateTimeFormatter;
 
 @Component
 public class DisqualificationTransformer {
 
-    private final DateTimeFormatter dateTimeFormatter =
-        DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSSSSS");
+    private final ObjectMapper objectMapper;
+    private final FeatureFlags featureFlags;
+
+    public DisqualificationTransformer(ObjectMapper objectMapper, FeatureFlags featureFlags) {
+        this.objectMapper = objectMapper;
+        this.featureFlags = featureFlags;
+    }
 
     /**
      * Transform the internal data class to a mongo ready document
@@ -37,6 +48,14 @@ public class DisqualificationTransformer {
                 .setId(officerId)
                 .setCorporateOfficer(false);
 
+        if (featureFlags.isPrecomputedResponseEnabled()) {
+            NaturalDisqualificationApi data = document.getData();
+            NaturalDisqualificationApi.KindEnum kind = data.getKind();
+            data.setKind(NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION);
+            document.setResponseBody(render(data));
+            data.setKind(kind);
+        }
+
         return transformDisqualifiedOfficer(document, requestBody.getInternalData());
     }
 
@@ -57,9 +76,31 @@ public class DisqualificationTransformer {
                 .setId(officerId)
                 .setCorporateOfficer(true);
 
+        if (featureFlags.isPrecomputedResponseEnabled()) {
+            CorporateDisqualificationApi data = document.getData();
+            CorporateDisqualificationApi.KindEnum kind = data.getKind();
+            data.setKind(CorporateDisqualificationApi.KindEnum.CORPORATE_DISQUALIFICATION);
+            document.setResponseBody(render(data));
+            data.setKind(kind);
+        }
+
         return transformDisqualifiedOfficer(document, requestBody.getInternalData());
     }
 
+    /**
+     * Render the public GET response body, with kind set as the GET sets it, so it can be served without
+     * mapping. The stored data keeps the kind it arrived with.
+     * @param data         External data with the GET kind set
+     * @return body        JSON response body
+     */
+    private byte[] render(Object data) {
+        try {
+            return objectMapper.writeValueAsBytes(data);
+        } catch (JsonProcessingException ex) {
+            throw new SerDesException("Failed to render disqualification response", ex);
+        }
+    }
+
     /**
      * Complete officer type inspecific mappings
      * @param document     Mongo wrapper document
@@ -76,7 +117,8 @@ public class DisqualificationTransformer {
                 .setOfficerIdRaw(internalData.getOfficerIdRaw())
                 .setOfficerDetailId(internalData.getOfficerDetailId())
                 .setOfficerDisqId(internalData.getOfficerDisqId())
-                .setDeltaAt(dateTimeFormatter.format(deltaAt));
+                .setDeltaAt(DeltaAtCodec.format(deltaAt))
+                .setDeltaAtMicros(DeltaAtCodec.toEpochMicros(deltaAt));
         return document;
     }
 }
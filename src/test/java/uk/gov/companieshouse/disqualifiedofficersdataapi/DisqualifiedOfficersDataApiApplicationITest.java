@@ -33,4 +33,11 @@ class DisqualifiedOfficersDataApiApplicationITest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("{\"status\":\"UP\"}"));
     }
+
+    @Test
+    void shouldNotServePrometheusOnApplicationPortWithoutAuthentication() throws Exception {
+        this.mockMvc.perform(get("/prometheus"))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+    }
 }
\ No newline at end of file
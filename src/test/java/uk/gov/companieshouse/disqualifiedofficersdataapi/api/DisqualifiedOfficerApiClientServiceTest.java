@@ -1,12 +1,15 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.api;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.http.HttpResponseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,7 +32,7 @@ import java.util.function.Function;
 class DisqualifiedOfficerApiClientServiceTest {
 
     @Mock
-    private ApiClientService apiClientService;
+    private InternalApiClientPool internalApiClientPool;
 
     @Mock
     private InternalApiClient internalApiClient;
@@ -65,7 +68,7 @@ class DisqualifiedOfficerApiClientServiceTest {
 
     @Test
     void should_invoke_chs_kafka_endpoint_successfully() throws ApiErrorResponseException {
-        when(apiClientService.getInternalApiClient()).thenReturn(internalApiClient);
+        when(internalApiClientPool.borrow()).thenReturn(internalApiClient);
         when(internalApiClient.privateChangedResourceHandler()).thenReturn(privateChangedResourceHandler);
         when(privateChangedResourceHandler.postChangedResource(Mockito.any(), Mockito.any())).thenReturn(changedResourcePost);
         when(changedResourcePost.execute()).thenReturn(response);
@@ -76,10 +79,11 @@ class DisqualifiedOfficerApiClientServiceTest {
 
         Assertions.assertThat(apiResponse).isNotNull();
 
-        verify(apiClientService, times(1)).getInternalApiClient();
+        verify(internalApiClientPool, times(1)).borrow();
         verify(internalApiClient, times(1)).privateChangedResourceHandler();
         verify(privateChangedResourceHandler, times(1)).postChangedResource("/private/resource-changed", changedResource);
         verify(changedResourcePost, times(1)).execute();
+        verify(internalApiClientPool, times(1)).release(internalApiClient);
     }
 
     @Test
@@ -112,8 +116,22 @@ class DisqualifiedOfficerApiClientServiceTest {
         verifyExceptionScenario();
     }
 
+    @Test
+    void should_time_chs_kafka_calls_by_outcome() throws ApiErrorResponseException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        disqualifiedOfficerApiService.bindTo(registry);
+        setupExceptionScenario(503, "Service Unavailable");
+
+        assertThrows(BadGatewayException.class, () -> disqualifiedOfficerApiService.invokeChsKafkaApi(resourceChangedRequest));
+
+        assertEquals(1, registry.get(DisqualifiedOfficerApiService.METRIC_NAME).tag("outcome", "error").timer()
+                .count());
+        assertEquals(0, registry.get(DisqualifiedOfficerApiService.METRIC_NAME).tag("outcome", "success").timer()
+                .count());
+    }
+
     private void setupExceptionScenario(int statusCode, String statusMessage) throws ApiErrorResponseException {
-        when(apiClientService.getInternalApiClient()).thenReturn(internalApiClient);
+        when(internalApiClientPool.borrow()).thenReturn(internalApiClient);
         when(internalApiClient.privateChangedResourceHandler()).thenReturn(privateChangedResourceHandler);
         when(privateChangedResourceHandler.postChangedResource(Mockito.any(), Mockito.any())).thenReturn(changedResourcePost);
         when(mapper.apply(resourceChangedRequest)).thenReturn(changedResource);
@@ -126,10 +144,12 @@ class DisqualifiedOfficerApiClientServiceTest {
     }
 
     private void verifyExceptionScenario() throws ApiErrorResponseException {
-        verify(apiClientService, times(1)).getInternalApiClient();
+        verify(internalApiClientPool, times(1)).borrow();
         verify(internalApiClient, times(1)).privateChangedResourceHandler();
         verify(privateChangedResourceHandler, times(1)).postChangedResource("/private/resource-changed",
                 changedResource);
         verify(changedResourcePost, times(1)).execute();
+        verify(internalApiClientPool, times(1)).discard(internalApiClient);
+        verify(internalApiClientPool, never()).release(internalApiClient);
     }
 }
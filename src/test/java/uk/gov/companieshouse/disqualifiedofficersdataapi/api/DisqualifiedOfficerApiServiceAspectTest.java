@@ -2,6 +2,7 @@ package uk.gov.companieshouse.disqualifiedofficersdataapi.api;
 
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -13,6 +14,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.config.FeatureFlags;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
 
 @ExtendWith(MockitoExtension.class)
 class DisqualifiedOfficerApiServiceAspectTest {
@@ -20,6 +22,9 @@ class DisqualifiedOfficerApiServiceAspectTest {
     @Mock
     private FeatureFlags featureFlags;
 
+    @Mock
+    private ResourceChangedOutbox outbox;
+
     @InjectMocks
     private DisqualifiedOfficerApiServiceAspect aspect;
 
@@ -51,4 +56,31 @@ class DisqualifiedOfficerApiServiceAspectTest {
         assertNull(actual);
         verifyNoInteractions(proceedingJoinPoint);
     }
+
+    @Test
+    void testAspectQueuesChangeWhenOutboxEnabled() throws Throwable {
+        // given
+        ResourceChangedRequest request = new ResourceChangedRequest("context-id", "officerId",
+                DisqualificationResourceType.NATURAL, null, false);
+        when(featureFlags.isStreamHookEnabled()).thenReturn(true);
+        when(featureFlags.isResourceChangedOutboxEnabled()).thenReturn(true);
+        when(proceedingJoinPoint.getArgs()).thenReturn(new Object[]{request});
+
+        // when
+        Object actual = aspect.invokeChsKafkaApi(proceedingJoinPoint);
+
+        // then
+        assertNull(actual);
+        verify(outbox).enqueue(request);
+        verify(proceedingJoinPoint, never()).proceed();
+    }
+
+    @Test
+    void testAspectDoesNotQueueChangeWhenFlagDisabled() throws Throwable {
+        // when
+        aspect.invokeChsKafkaApi(proceedingJoinPoint);
+
+        // then
+        verifyNoInteractions(outbox);
+    }
 }
@@ -0,0 +1,136 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.api.InternalApiClient;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
+
+@ExtendWith(MockitoExtension.class)
+class InternalApiClientPoolTest {
+
+    private static final String CHS_KAFKA_URL = "http://localhost:8889";
+
+    @Mock
+    private ApiClientService apiClientService;
+
+    private final InternalApiClient firstClient = mock(InternalApiClient.class);
+    private final InternalApiClient secondClient = mock(InternalApiClient.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private InternalApiClientPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new InternalApiClientPool(apiClientService, CHS_KAFKA_URL, 2, 10);
+        pool.bindTo(registry);
+    }
+
+    @Test
+    void shouldCreateClientWithBasePathAndReuseItOnceReleased() {
+        // given
+        when(apiClientService.getInternalApiClient()).thenReturn(firstClient);
+        pool.release(pool.borrow());
+
+        // when
+        InternalApiClient actual = pool.borrow();
+
+        // then
+        assertSame(firstClient, actual);
+        verify(apiClientService, times(1)).getInternalApiClient();
+        verify(firstClient, times(1)).setBasePath(CHS_KAFKA_URL);
+    }
+
+    @Test
+    void shouldCreateSeparateClientsForConcurrentBorrows() {
+        // given
+        when(apiClientService.getInternalApiClient()).thenReturn(firstClient, secondClient);
+        InternalApiClient borrowed = pool.borrow();
+
+        // when
+        InternalApiClient actual = pool.borrow();
+
+        // then
+        assertSame(firstClient, borrowed);
+        assertSame(secondClient, actual);
+        assertEquals(2.0, registry.get(InternalApiClientPool.METRIC_PREFIX + ".created").gauge().value());
+        assertEquals(0.0, registry.get(InternalApiClientPool.METRIC_PREFIX + ".idle").gauge().value());
+    }
+
+    @Test
+    void shouldThrowBadGatewayWhenNoClientIsReleasedInTime() {
+        // given
+        when(apiClientService.getInternalApiClient()).thenReturn(firstClient, secondClient);
+        pool.borrow();
+        pool.borrow();
+
+        // when
+        assertThrows(BadGatewayException.class, () -> pool.borrow());
+
+        // then
+        verify(apiClientService, times(2)).getInternalApiClient();
+        assertEquals(1.0, registry.get(InternalApiClientPool.METRIC_PREFIX + ".borrow.timeouts").counter().count());
+        assertEquals(3, registry.get(InternalApiClientPool.METRIC_PREFIX + ".borrow").timer().count());
+    }
+
+    @Test
+    void shouldNotCountClientThatFailedToBeCreated() {
+        // given
+        when(apiClientService.getInternalApiClient()).thenThrow(new IllegalStateException("no api key"))
+                .thenReturn(firstClient);
+        assertThrows(IllegalStateException.class, () -> pool.borrow());
+
+        // when
+        InternalApiClient actual = pool.borrow();
+
+        // then
+        assertSame(firstClient, actual);
+        assertEquals(1.0, registry.get(InternalApiClientPool.METRIC_PREFIX + ".created").gauge().value());
+    }
+
+    @Test
+    void shouldCreateFreshClientInsteadOfReusingOneDiscardedAfterFailure() {
+        // given
+        when(apiClientService.getInternalApiClient()).thenReturn(firstClient, secondClient);
+        pool.discard(pool.borrow());
+
+        // when
+        InternalApiClient actual = pool.borrow();
+
+        // then
+        assertSame(secondClient, actual);
+        verify(apiClientService, times(2)).getInternalApiClient();
+        assertEquals(1.0, registry.get(InternalApiClientPool.METRIC_PREFIX + ".created").gauge().value());
+        assertEquals(1.0, registry.get(InternalApiClientPool.METRIC_PREFIX + ".discards").counter().count());
+    }
+
+    @Test
+    void shouldNotHandOutDiscardedClientWhileOthersAreIdle() {
+        // given
+        InternalApiClient replacementClient = mock(InternalApiClient.class);
+        when(apiClientService.getInternalApiClient()).thenReturn(firstClient, secondClient, replacementClient);
+        InternalApiClient failed = pool.borrow();
+        pool.release(pool.borrow());
+        pool.discard(failed);
+
+        // when
+        InternalApiClient reused = pool.borrow();
+        InternalApiClient created = pool.borrow();
+
+        // then
+        assertSame(secondClient, reused);
+        assertSame(replacementClient, created);
+        verify(apiClientService, times(3)).getInternalApiClient();
+    }
+}
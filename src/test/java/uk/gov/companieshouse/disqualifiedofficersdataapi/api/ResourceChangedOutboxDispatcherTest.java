@@ -0,0 +1,215 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ResourceChangedOutboxEntry;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.ResourceChangedOutboxRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceChangedOutboxDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2024-09-25T17:10:03Z");
+    private static final int MAXIMUM_ATTEMPTS = 5;
+
+    @Mock
+    private ResourceChangedOutboxRepository outboxRepository;
+    @Mock
+    private DisqualifiedOfficerApiService disqualifiedOfficerApiService;
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private ResourceChangedOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new ResourceChangedOutboxDispatcher(outboxRepository, disqualifiedOfficerApiService,
+                mongoTemplate, new ObjectMapper(), true, 100, 2, 500, 60, 1000, 10000, MAXIMUM_ATTEMPTS, false);
+    }
+
+    @Test
+    void shouldGroupReadyEntriesByOfficerInOrder() {
+        // given
+        ResourceChangedOutboxEntry first = entry("1", "officerA");
+        ResourceChangedOutboxEntry other = entry("2", "officerB");
+        ResourceChangedOutboxEntry second = entry("3", "officerA");
+
+        // when
+        List<List<ResourceChangedOutboxEntry>> actual = List.copyOf(
+                ResourceChangedOutboxDispatcher.readyRuns(List.of(first, other, second), List.of()));
+
+        // then
+        assertEquals(List.of(List.of(first, second), List.of(other)), actual);
+    }
+
+    @Test
+    void shouldHoldBackEntriesWrittenAfterLeasedOrBackingOffEntries() {
+        // given
+        ResourceChangedOutboxEntry beforeBlocked = entry("1", "officerA");
+        ResourceChangedOutboxEntry blocked = entry("2", "officerA").setNextAttemptAt(NOW.plusSeconds(30));
+        ResourceChangedOutboxEntry afterBlocked = entry("3", "officerA");
+        ResourceChangedOutboxEntry leased = entry("4", "officerB").setLeasedUntil(NOW.plusSeconds(30));
+        ResourceChangedOutboxEntry afterLeased = entry("5", "officerB");
+        ResourceChangedOutboxEntry unblocked = entry("6", "officerC");
+
+        // when
+        List<List<ResourceChangedOutboxEntry>> actual = List.copyOf(ResourceChangedOutboxDispatcher.readyRuns(
+                List.of(beforeBlocked, afterBlocked, afterLeased, unblocked), List.of(blocked, leased)));
+
+        // then
+        assertEquals(List.of(List.of(beforeBlocked), List.of(unblocked)), actual);
+    }
+
+    @Test
+    void shouldSkipWindowHeldBackEntirelyBehindBlockedEntries() {
+        // given
+        ResourceChangedOutboxDispatcher oneAtATime = new ResourceChangedOutboxDispatcher(outboxRepository,
+                disqualifiedOfficerApiService, mongoTemplate, new ObjectMapper(), true, 1, 2, 500, 60, 1000, 10000,
+                MAXIMUM_ATTEMPTS, false);
+        ResourceChangedOutboxEntry blocked = entry("1", "officerA").setNextAttemptAt(NOW.plusSeconds(30));
+        ResourceChangedOutboxEntry heldBack = entry("2", "officerA");
+        ResourceChangedOutboxEntry newer = entry("3", "officerB");
+        when(outboxRepository.findReady(NOW, 1, Set.of())).thenReturn(List.of(heldBack));
+        when(outboxRepository.findBlocked(List.of("officerA"), NOW)).thenReturn(List.of(blocked));
+        when(outboxRepository.findReady(NOW, 1, Set.of("officerA"))).thenReturn(List.of(newer));
+        when(outboxRepository.findBlocked(List.of("officerB"), NOW)).thenReturn(List.of());
+
+        // when
+        List<List<ResourceChangedOutboxEntry>> actual = List.copyOf(oneAtATime.findRuns(NOW));
+
+        // then
+        assertEquals(List.of(List.of(newer)), actual);
+    }
+
+    @Test
+    void shouldSendAndCompleteEntriesInOrder() {
+        // given
+        ResourceChangedOutboxEntry changed = entry("1", "officerA");
+        ResourceChangedOutboxEntry deleted = entry("2", "officerA").setDelete(true)
+                .setDeletedData("{\"forename\":\"Dust\"}");
+        when(outboxRepository.claim(anyString(), anyString(), any(), any())).thenReturn(true);
+
+        // when
+        int actual = dispatcher.sendInOrder(List.of(changed, deleted));
+
+        // then
+        assertEquals(2, actual);
+        verify(disqualifiedOfficerApiService).postChangedResource(new ResourceChangedRequest("context-id",
+                "officerA", DisqualificationResourceType.NATURAL, null, false));
+        verify(disqualifiedOfficerApiService).postChangedResource(new ResourceChangedRequest("context-id",
+                "officerA", DisqualificationResourceType.NATURAL, Map.of("forename", "Dust"), true));
+        verify(outboxRepository).complete(eq("1"), anyString());
+        verify(outboxRepository).complete(eq("2"), anyString());
+    }
+
+    @Test
+    void shouldRescheduleFailedEntryAndStop() {
+        // given
+        ResourceChangedOutboxEntry failing = entry("1", "officerA").setAttempts(2);
+        ResourceChangedOutboxEntry next = entry("2", "officerA");
+        when(outboxRepository.claim(anyString(), anyString(), any(), any())).thenReturn(true);
+        when(disqualifiedOfficerApiService.postChangedResource(any()))
+                .thenThrow(new BadGatewayException("Error calling resource changed endpoint"));
+
+        // when
+        int actual = dispatcher.sendInOrder(List.of(failing, next));
+
+        // then
+        assertEquals(0, actual);
+        verify(outboxRepository).reschedule(eq("1"), anyString(), eq(3), any());
+        verify(outboxRepository, never()).complete(anyString(), anyString());
+        verify(outboxRepository, never()).claim(eq("2"), anyString(), any(), any());
+    }
+
+    @Test
+    void shouldParkEntryOnFinalAttemptAndCarryOn() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        dispatcher.bindTo(registry);
+        ResourceChangedOutboxEntry failing = entry("1", "officerA").setAttempts(MAXIMUM_ATTEMPTS - 1);
+        ResourceChangedOutboxEntry next = entry("2", "officerA");
+        when(outboxRepository.claim(anyString(), anyString(), any(), any())).thenReturn(true);
+        when(disqualifiedOfficerApiService.postChangedResource(any()))
+                .thenThrow(new BadGatewayException("Error calling resource changed endpoint"))
+                .thenReturn(null);
+
+        // when
+        int actual = dispatcher.sendInOrder(List.of(failing, next));
+
+        // then
+        assertEquals(1, actual);
+        verify(outboxRepository).park(eq("1"), anyString(), eq(MAXIMUM_ATTEMPTS), any());
+        verify(outboxRepository, never()).reschedule(anyString(), anyString(), anyInt(), any());
+        verify(outboxRepository).complete(eq("2"), anyString());
+        assertEquals(1, registry.get("resource.changed.outbox.parked").counter().count());
+    }
+
+    @Test
+    void shouldParkEntryThatCannotBeRead() {
+        // given
+        ResourceChangedOutboxEntry poison = entry("1", "officerA").setDelete(true).setDeletedData("{not json");
+        when(outboxRepository.claim(anyString(), anyString(), any(), any())).thenReturn(true);
+
+        // when
+        int actual = dispatcher.sendInOrder(List.of(poison));
+
+        // then
+        assertEquals(0, actual);
+        verify(outboxRepository).park(eq("1"), anyString(), eq(1), any());
+        verify(disqualifiedOfficerApiService, never()).postChangedResource(any());
+    }
+
+    @Test
+    void shouldStopWhenEntryIsLeasedElsewhere() {
+        // given
+        when(outboxRepository.claim(eq("1"), anyString(), any(), any())).thenReturn(false);
+
+        // when
+        int actual = dispatcher.sendInOrder(List.of(entry("1", "officerA"), entry("2", "officerA")));
+
+        // then
+        assertEquals(0, actual);
+        verify(disqualifiedOfficerApiService, never()).postChangedResource(any());
+        verify(outboxRepository, never()).reschedule(anyString(), anyString(), anyInt(), any());
+    }
+
+    @Test
+    void shouldBackOffExponentiallyUpToMaximum() {
+        assertEquals(Duration.ofSeconds(1), dispatcher.backoff(1));
+        assertEquals(Duration.ofSeconds(2), dispatcher.backoff(2));
+        assertEquals(Duration.ofSeconds(8), dispatcher.backoff(4));
+        assertEquals(Duration.ofSeconds(10), dispatcher.backoff(5));
+        assertEquals(Duration.ofSeconds(10), dispatcher.backoff(100));
+    }
+
+    private static ResourceChangedOutboxEntry entry(String id, String officerId) {
+        return new ResourceChangedOutboxEntry()
+                .setId(id)
+                .setOfficerId(officerId)
+                .setOfficerType(DisqualificationResourceType.NATURAL)
+                .setContextId("context-id")
+                .setCreatedAt(NOW)
+                .setNextAttemptAt(NOW);
+    }
+}
@@ -0,0 +1,96 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.function.Executable;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.TransientDataAccessResourceException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ResourceChangedOutboxEntry;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.ResourceChangedOutboxRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ResourceChangedOutboxTest {
+
+    private static final String CONTEXT_ID = "context-id";
+    private static final String OFFICER_ID = "officerId";
+
+    @Mock
+    private ResourceChangedOutboxRepository outboxRepository;
+
+    private ResourceChangedOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        outbox = new ResourceChangedOutbox(outboxRepository, new ObjectMapper());
+    }
+
+    @Test
+    void shouldQueueChangedEvent() {
+        // given
+        ResourceChangedRequest request = new ResourceChangedRequest(CONTEXT_ID, OFFICER_ID,
+                DisqualificationResourceType.CORPORATE, null, false);
+        ArgumentCaptor<ResourceChangedOutboxEntry> captor = ArgumentCaptor.forClass(ResourceChangedOutboxEntry.class);
+
+        // when
+        outbox.enqueue(request);
+
+        // then
+        verify(outboxRepository).insert(captor.capture());
+        ResourceChangedOutboxEntry entry = captor.getValue();
+        assertEquals(OFFICER_ID, entry.getOfficerId());
+        assertEquals(DisqualificationResourceType.CORPORATE, entry.getOfficerType());
+        assertEquals(CONTEXT_ID, entry.getContextId());
+        assertFalse(entry.isDelete());
+        assertNull(entry.getDeletedData());
+        assertNotNull(entry.getCreatedAt());
+        assertEquals(entry.getCreatedAt(), entry.getNextAttemptAt());
+    }
+
+    @Test
+    void shouldQueueDeletedEventWithDeletedData() {
+        // given
+        ResourceChangedRequest request = new ResourceChangedRequest(CONTEXT_ID, OFFICER_ID,
+                DisqualificationResourceType.NATURAL, Map.of("forename", "Dust"), true);
+        ArgumentCaptor<ResourceChangedOutboxEntry> captor = ArgumentCaptor.forClass(ResourceChangedOutboxEntry.class);
+
+        // when
+        outbox.enqueue(request);
+
+        // then
+        verify(outboxRepository).insert(captor.capture());
+        assertTrue(captor.getValue().isDelete());
+        assertEquals("{\"forename\":\"Dust\"}", captor.getValue().getDeletedData());
+    }
+
+    @Test
+    void shouldThrowBadGatewayWhenOutboxCannotBeWritten() {
+        // given
+        ResourceChangedRequest request = new ResourceChangedRequest(CONTEXT_ID, OFFICER_ID,
+                DisqualificationResourceType.NATURAL, null, false);
+        when(outboxRepository.insert(any(ResourceChangedOutboxEntry.class)))
+                .thenThrow(new TransientDataAccessResourceException("MongoDB unavailable"));
+
+        // when
+        Executable executable = () -> outbox.enqueue(request);
+
+        // then
+        assertThrows(BadGatewayException.class, executable);
+    }
+}
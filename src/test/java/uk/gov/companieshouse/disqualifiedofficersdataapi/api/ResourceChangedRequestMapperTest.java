@@ -2,13 +2,11 @@ package uk.gov.companieshouse.disqualifiedofficersdataapi.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -24,6 +22,7 @@ import uk.gov.companieshouse.api.chskafka.ChangedResource;
 import uk.gov.companieshouse.api.chskafka.ChangedResourceEvent;
 import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ApplicationConfig;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.SerDesException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
 
@@ -69,18 +68,16 @@ class ResourceChangedRequestMapperTest {
     @MethodSource("resourceDeletedScenarios")
     void testMapperDeleted(ResourceChangedTestArgument argument) throws Exception {
         // given
-        String serialisedData = "serialisedData";
         when(timestampGenerator.get()).thenReturn(DATE);
-        when(objectMapper.writeValueAsString(any())).thenReturn(serialisedData);
-        when(objectMapper.readValue(anyString(), eq(Object.class))).thenReturn(argument.getChangedResource().getDeletedData());
+        when(objectMapper.convertValue(any(), eq(Object.class))).thenReturn(
+                argument.getChangedResource().getDeletedData());
 
         // when
         ChangedResource actual = mapper.mapChangedResource(argument.getRequest());
 
         // then
         assertEquals(argument.getChangedResource(), actual);
-        verify(objectMapper).writeValueAsString(argument.getRequest().getDisqualificationData());
-        verify(objectMapper).readValue(serialisedData, Object.class);
+        verify(objectMapper).convertValue(argument.getRequest().getDisqualificationData(), Object.class);
     }
 
     @Test
@@ -94,9 +91,9 @@ class ResourceChangedRequestMapperTest {
     }
 
     @Test
-    void testMapperThrowsSerDesExceptionIfObjectMapperWriteFails() throws Exception {
+    void testMapperThrowsSerDesExceptionIfObjectMapperConvertFails() {
         // given
-        when(objectMapper.writeValueAsString(any())).thenThrow(JsonProcessingException.class);
+        when(objectMapper.convertValue(any(), eq(Object.class))).thenThrow(IllegalArgumentException.class);
 
         // when
         Executable actual = () -> mapper.mapChangedResource(
@@ -108,18 +105,26 @@ class ResourceChangedRequestMapperTest {
     }
 
     @Test
-    void testMapperThrowsSerDesExceptionIfObjectMapperReadFails() throws Exception {
+    void testMapperDeletedDataMatchesJsonRoundTrip() throws Exception {
         // given
-        when(objectMapper.writeValueAsString(any())).thenReturn("deletedDataAsString");
-        when(objectMapper.readValue(anyString(), eq(Object.class))).thenThrow(JsonProcessingException.class);
+        ObjectMapper realObjectMapper = new ApplicationConfig().objectMapper();
+        NaturalDisqualificationApi disqualification = realObjectMapper.readValue("""
+                {
+                  "forename": "Dust",
+                  "date_of_birth": "1960-12-31",
+                  "disqualifications": [{"case_identifier": "1", "disqualified_from": "2020-01-01"}]
+                }""", NaturalDisqualificationApi.class);
+        ResourceChangedRequestMapper realMapper = new ResourceChangedRequestMapper(timestampGenerator,
+                realObjectMapper);
+        Object expected = realObjectMapper.readValue(realObjectMapper.writeValueAsString(disqualification),
+                Object.class);
 
         // when
-        Executable actual = () -> mapper.mapChangedResource(
-                new ResourceChangedRequest(EXPECTED_CONTEXT_ID, OFFICER_ID, DisqualificationResourceType.NATURAL, null,
-                        true));
+        ChangedResource actual = realMapper.mapChangedResource(new ResourceChangedRequest(EXPECTED_CONTEXT_ID,
+                OFFICER_ID, DisqualificationResourceType.NATURAL, disqualification, true));
 
         // then
-        assertThrows(SerDesException.class, actual);
+        assertEquals(expected, actual.getDeletedData());
     }
 
     static Stream<ResourceChangedTestArgument> resourceChangedScenarios() {
@@ -172,4 +172,33 @@ class EricTokenAuthenticationFilterTest {
 
         verify(filterChain, times(0)).doFilter(request, response);
     }
+
+    @Test
+    @DisplayName("Internal GET request with KEY type with no privileges fails")
+    void doFilterInternalInternalGetKeyNoPrivileges() throws ServletException, IOException {
+
+        when(request.getHeader("ERIC-Identity")).thenReturn("SOME-IDENTITY");
+        when(request.getHeader("ERIC-Identity-Type")).thenReturn("KEY");
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn("/disqualified-officers/export/internal");
+
+        ericTokenAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain, times(0)).doFilter(request, response);
+    }
+
+    @Test
+    @DisplayName("Internal GET request with KEY type with internal app privileges passes filter")
+    void doFilterInternalInternalGetKeyAndInternalApp() throws ServletException, IOException {
+
+        when(request.getHeader("ERIC-Identity")).thenReturn("SOME-IDENTITY");
+        when(request.getHeader("ERIC-Identity-Type")).thenReturn("KEY");
+        when(request.getHeader("ERIC-Authorised-Key-Privileges")).thenReturn("internal-app");
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn("/disqualified-officers/export/internal");
+
+        ericTokenAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain, times(1)).doFilter(request, response);
+    }
 }
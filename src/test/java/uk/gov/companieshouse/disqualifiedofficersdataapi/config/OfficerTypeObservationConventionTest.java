@@ -0,0 +1,49 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.common.KeyValue;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class OfficerTypeObservationConventionTest {
+
+    private final OfficerTypeObservationConvention convention = new OfficerTypeObservationConvention();
+
+    @Test
+    void shouldTagRequestsWithOfficerTypeFromPath() {
+        // when
+        String natural = tag("/disqualified-officers/natural/officer_id");
+        String corporate = tag("/disqualified-officers/corporate/officer_id/internal");
+
+        // then
+        assertEquals("natural", natural);
+        assertEquals("corporate", corporate);
+    }
+
+    @Test
+    void shouldTagOtherRequestsWithNone() {
+        // when
+        String bulk = tag("/disqualified-officers/bulk/internal");
+        String unknown = tag("/disqualified-officers/unknown/officer_id/internal");
+        String healthcheck = tag("/healthcheck");
+
+        // then
+        assertEquals("none", bulk);
+        assertEquals("none", unknown);
+        assertEquals("none", healthcheck);
+    }
+
+    private String tag(String requestUri) {
+        ServerRequestObservationContext context = new ServerRequestObservationContext(
+                new MockHttpServletRequest("GET", requestUri), new MockHttpServletResponse());
+        for (KeyValue keyValue : convention.getLowCardinalityKeyValues(context)) {
+            if (OfficerTypeObservationConvention.OFFICER_TYPE.equals(keyValue.getKey())) {
+                return keyValue.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -4,15 +4,21 @@ import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
@@ -24,6 +30,12 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.github.dockerjava.api.exception.InternalServerErrorException;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -37,6 +49,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import uk.gov.companieshouse.api.disqualification.InternalCorporateDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.InternalDisqualificationApiInternalData;
 import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
@@ -47,14 +60,27 @@ import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.ConflictExce
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.MethodNotAllowedException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.NotFoundException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.ServiceUnavailableException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkDeleteItem;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkDisqualificationResult;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkItemStatus;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ChangeOperation;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DeleteRequestParameters;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationBatch;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationChange;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationChanges;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ExportFilter;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DeleteDisqualifiedOfficerService;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DisqualificationChangeFeedService;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DisqualificationExportService;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DisqualificationResponseCache;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DisqualifiedOfficerService;
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(controllers = DisqualifiedOfficerController.class)
-@ContextConfiguration(classes = {DisqualifiedOfficerController.class, ExceptionHandlerConfig.class})
+@ContextConfiguration(classes = {DisqualifiedOfficerController.class, ExceptionHandlerConfig.class,
+        DisqualificationResponseCache.class})
 @Import({WebSecurityConfig.class})
 class DisqualifiedOfficerControllerTest {
 
@@ -67,6 +93,12 @@ class DisqualifiedOfficerControllerTest {
     private static final String DELETE_CORPORATE_URL = String.format("/disqualified-officers/%s/%s/internal", CORPORATE, OFFICER_ID);
     private static final String DELTA_AT = "20240925171003950844";
     private static final String STALE_DELTA_AT = "20220925171003950844";
+    private static final String ETAG = "etag";
+    private static final String BULK_URL = "/disqualified-officers/bulk/internal";
+    private static final String BULK_DELETE_URL = "/disqualified-officers/bulk/delete/internal";
+    private static final String EXPORT_URL = "/disqualified-officers/export/internal";
+    private static final String CHANGES_URL = "/disqualified-officers/changes/internal";
+    private static final String BATCH_URL = "/disqualified-officers/batch";
 
     @Autowired
     private MockMvc mockMvc;
@@ -77,9 +109,18 @@ class DisqualifiedOfficerControllerTest {
     @MockitoBean
     private DeleteDisqualifiedOfficerService deleteService;
 
+    @MockitoBean
+    private DisqualificationExportService exportService;
+
+    @MockitoBean
+    private DisqualificationChangeFeedService changeFeedService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private DisqualificationResponseCache responseCache;
+
     private final ObjectMapper mapper = new ObjectMapper();
 
     private final Gson gson = new GsonBuilder().setPrettyPrinting()
@@ -88,6 +129,7 @@ class DisqualifiedOfficerControllerTest {
 
     @BeforeEach
     void setUp() {
+        responseCache.invalidate(OFFICER_ID);
         mapper.registerModule(new JavaTimeModule());
         mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
     }
@@ -314,6 +356,68 @@ class DisqualifiedOfficerControllerTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @DisplayName("Disqualified Officer bulk PUT request returns a status per item")
+    void callDisqualifiedOfficerBulkPutRequest() throws Exception {
+        String body = """
+                [{"officer_type": "natural", "officer_id": "natural_id", "data": {"internal_data": {}}},
+                 {"officer_type": "corporate", "officer_id": "corporate_id", "data": {"internal_data": {}}}]""";
+
+        doReturn(List.of(new BulkDisqualificationResult("natural_id", BulkItemStatus.APPLIED),
+                new BulkDisqualificationResult("corporate_id", BulkItemStatus.STALE)))
+                .when(disqualifiedOfficerService).processBulkDisqualifications(anyString(), any());
+
+        mockMvc.perform(put(BULK_URL)
+                        .contentType(APPLICATION_JSON)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "Test-Identity")
+                        .header("ERIC-Identity-Type", "Key")
+                        .header("ERIC-Authorised-Key-Privileges", "internal-app")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        [{"officer_id": "natural_id", "status": "applied"},
+                         {"officer_id": "corporate_id", "status": "stale"}]"""));
+
+        verify(disqualifiedOfficerService).processBulkDisqualifications(eq("5342342"), argThat(items ->
+                items.size() == 2
+                        && items.get(0).data() instanceof InternalNaturalDisqualificationApi
+                        && items.get(1).data() instanceof InternalCorporateDisqualificationApi
+                        && "corporate_id".equals(items.get(1).officerId())));
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer bulk PUT request over the item limit - Bad request status code 400")
+    void callDisqualifiedOfficerBulkPutRequestTooManyItems() throws Exception {
+        String item = """
+                {"officer_type": "natural", "officer_id": "natural_id", "data": {}}""";
+        String body = "[" + String.join(",", Collections.nCopies(501, item)) + "]";
+
+        mockMvc.perform(put(BULK_URL)
+                        .contentType(APPLICATION_JSON)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "Test-Identity")
+                        .header("ERIC-Identity-Type", "Key")
+                        .header("ERIC-Authorised-Key-Privileges", "internal-app")
+                        .content(body))
+                .andExpect(status().isBadRequest());
+
+        verify(disqualifiedOfficerService, never()).processBulkDisqualifications(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer bulk PUT request fails without internal app privileges")
+    void callDisqualifiedOfficerBulkPutRequestWrongPrivileges() throws Exception {
+        mockMvc.perform(put(BULK_URL)
+                        .contentType(APPLICATION_JSON)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key")
+                        .header("ERIC-Authorised-Key-Privileges", "privilege")
+                        .content("[]"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("Disqualified Officer DELETE natural request")
     void callDisqualifiedOfficerDeleteNaturalRequest() throws Exception {
@@ -408,6 +512,142 @@ class DisqualifiedOfficerControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("Disqualified Officer bulk DELETE request returns a status per item")
+    void callDisqualifiedOfficerBulkDeleteRequest() throws Exception {
+        String body = """
+                [{"officer_type": "natural", "officer_id": "natural_id", "delta_at": "20240925171003950844"},
+                 {"officer_type": "corporate", "officer_id": "corporate_id", "delta_at": "20240925171003950844"}]""";
+
+        doReturn(List.of(new BulkDisqualificationResult("natural_id", BulkItemStatus.APPLIED),
+                new BulkDisqualificationResult("corporate_id", BulkItemStatus.NOT_FOUND)))
+                .when(deleteService).processBulkDeletions(anyString(), any());
+
+        mockMvc.perform(post(BULK_DELETE_URL)
+                        .contentType(APPLICATION_JSON)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "Test-Identity")
+                        .header("ERIC-Identity-Type", "Key")
+                        .header("ERIC-Authorised-Key-Privileges", "internal-app")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        [{"officer_id": "natural_id", "status": "applied"},
+                         {"officer_id": "corporate_id", "status": "not_found"}]"""));
+
+        verify(deleteService).processBulkDeletions("5342342", List.of(
+                new BulkDeleteItem("natural", "natural_id", "20240925171003950844"),
+                new BulkDeleteItem("corporate", "corporate_id", "20240925171003950844")));
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer bulk DELETE request over the item limit - Bad request status code 400")
+    void callDisqualifiedOfficerBulkDeleteRequestTooManyItems() throws Exception {
+        String item = """
+                {"officer_type": "natural", "officer_id": "natural_id", "delta_at": "20240925171003950844"}""";
+        String body = "[" + String.join(",", Collections.nCopies(501, item)) + "]";
+
+        mockMvc.perform(post(BULK_DELETE_URL)
+                        .contentType(APPLICATION_JSON)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "Test-Identity")
+                        .header("ERIC-Identity-Type", "Key")
+                        .header("ERIC-Authorised-Key-Privileges", "internal-app")
+                        .content(body))
+                .andExpect(status().isBadRequest());
+
+        verify(deleteService, never()).processBulkDeletions(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer export request streams NDJSON")
+    void callDisqualifiedOfficerExportRequest() throws Exception {
+        String line = """
+                {"officer_id":"natural_id","officer_type":"natural","delta_at":"20240925171003950844","data":{}}
+                """;
+        doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write(line.getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(exportService).export(any(), any());
+
+        mockMvc.perform(get(EXPORT_URL)
+                        .param("updated_from", "2024-09-25T00:00:00")
+                        .param("delta_at_to", DELTA_AT)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "Test-Identity")
+                        .header("ERIC-Identity-Type", "Key")
+                        .header("ERIC-Authorised-Key-Privileges", "internal-app"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"))
+                .andExpect(content().string(line));
+
+        verify(exportService).export(eq(new ExportFilter(LocalDateTime.parse("2024-09-25T00:00:00"), null, null,
+                DELTA_AT)), any());
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer export request with an invalid delta_at - Bad request status code 400")
+    void callDisqualifiedOfficerExportRequestInvalidDeltaAt() throws Exception {
+        mockMvc.perform(get(EXPORT_URL)
+                        .param("delta_at_from", "2024-09-25")
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "Test-Identity")
+                        .header("ERIC-Identity-Type", "Key")
+                        .header("ERIC-Authorised-Key-Privileges", "internal-app"))
+                .andExpect(status().isBadRequest());
+
+        verify(exportService, never()).export(any(), any());
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer export request without internal app privileges - Forbidden status code 403")
+    void callDisqualifiedOfficerExportRequestWithoutPrivileges() throws Exception {
+        mockMvc.perform(get(EXPORT_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "Test-Identity")
+                        .header("ERIC-Identity-Type", "Key"))
+                .andExpect(status().isForbidden());
+
+        verify(exportService, never()).export(any(), any());
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer change feed request returns changes and the next resume token")
+    void callDisqualifiedOfficerChangesRequest() throws Exception {
+        doReturn(new DisqualificationChanges(List.of(
+                new DisqualificationChange("natural_id", ChangeOperation.CHANGED),
+                new DisqualificationChange("corporate_id", ChangeOperation.DELETED)), "next_token"))
+                .when(changeFeedService).retrieveChanges("last_token", 2);
+
+        mockMvc.perform(get(CHANGES_URL)
+                        .param("resume_after", "last_token")
+                        .param("limit", "2")
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "Test-Identity")
+                        .header("ERIC-Identity-Type", "Key")
+                        .header("ERIC-Authorised-Key-Privileges", "internal-app"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        {"changes": [{"officer_id": "natural_id", "operation": "changed"},
+                                     {"officer_id": "corporate_id", "operation": "deleted"}],
+                         "resume_token": "next_token"}"""));
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer change feed request with an expired token - Bad request status code 400")
+    void callDisqualifiedOfficerChangesRequestExpiredToken() throws Exception {
+        doThrow(new BadRequestException("Resume token is not valid or has expired"))
+                .when(changeFeedService).retrieveChanges("expired_token", null);
+
+        mockMvc.perform(get(CHANGES_URL)
+                        .param("resume_after", "expired_token")
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "Test-Identity")
+                        .header("ERIC-Identity-Type", "Key")
+                        .header("ERIC-Authorised-Key-Privileges", "internal-app"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Disqualified Officer GET request")
     void callDisqualifiedOfficerGetRequest() throws Exception {
@@ -430,6 +670,187 @@ class DisqualifiedOfficerControllerTest {
                 objectMapper.readValue(result.getResponse().getContentAsString(), NaturalDisqualificationApi.class));
     }
 
+    @Test
+    @DisplayName("Disqualified Officer GET request serves the precomputed response body as stored")
+    void callDisqualifiedOfficerGetRequestWithPrecomputedResponse() throws Exception {
+        NaturalDisqualificationDocument naturalDisqualification = new NaturalDisqualificationDocument();
+        NaturalDisqualificationApi data = new NaturalDisqualificationApi();
+        data.setEtag(ETAG);
+        naturalDisqualification.setData(data);
+        byte[] responseBody = "{\"etag\":\"%s\",\"kind\":\"natural-disqualification\"}"
+                .formatted(ETAG).getBytes(StandardCharsets.UTF_8);
+        naturalDisqualification.setResponseBody(responseBody);
+
+        doReturn(naturalDisqualification)
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualification(anyString());
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + ETAG + "\""))
+                .andExpect(content().bytes(responseBody));
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer batch GET request")
+    void callDisqualifiedOfficerBatchGetRequest() throws Exception {
+        NaturalDisqualificationApi data = new NaturalDisqualificationApi();
+        data.setEtag(ETAG);
+        doReturn(new DisqualificationBatch(Map.of(OFFICER_ID, data), Map.of(), List.of(), List.of("missing_id")))
+                .when(disqualifiedOfficerService)
+                .retrieveDisqualifications(List.of(OFFICER_ID), List.of("missing_id"));
+
+        mockMvc.perform(get(BATCH_URL)
+                        .param("natural", OFFICER_ID)
+                        .param("corporate", "missing_id")
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("""
+                        {"natural": {"%s": {"etag": "%s"}}, "corporate": {},
+                         "natural_not_found": [], "corporate_not_found": ["missing_id"]}"""
+                        .formatted(OFFICER_ID, ETAG)));
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer batch GET request over the item limit - Bad request status code 400")
+    void callDisqualifiedOfficerBatchGetRequestTooManyItems() throws Exception {
+        mockMvc.perform(get(BATCH_URL)
+                        .param("natural", String.join(",", Collections.nCopies(51, OFFICER_ID)))
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key"))
+                .andExpect(status().isBadRequest());
+
+        verify(disqualifiedOfficerService, never()).retrieveDisqualifications(any(), any());
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer GET request served from the response cache")
+    void callDisqualifiedOfficerGetRequestTwiceUsesCache() throws Exception {
+        NaturalDisqualificationDocument naturalDisqualification = new NaturalDisqualificationDocument();
+        NaturalDisqualificationApi data = new NaturalDisqualificationApi();
+        naturalDisqualification.setData(data);
+
+        doReturn(naturalDisqualification)
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualification(anyString());
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get(NATURAL_GET_URL)
+                            .header("x-request-id", "5342342")
+                            .header("ERIC-Identity", "SOME_IDENTITY")
+                            .header("ERIC-Identity-Type", "key"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(APPLICATION_JSON));
+        }
+
+        verify(disqualifiedOfficerService, times(1)).retrieveNaturalDisqualification(OFFICER_ID);
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer GET request returns the etag header")
+    void callDisqualifiedOfficerGetRequestReturnsEtag() throws Exception {
+        NaturalDisqualificationDocument naturalDisqualification = new NaturalDisqualificationDocument();
+        NaturalDisqualificationApi data = new NaturalDisqualificationApi();
+        data.setEtag(ETAG);
+        naturalDisqualification.setData(data);
+
+        doReturn(naturalDisqualification)
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualification(anyString());
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + ETAG + "\""));
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer GET request with a matching If-None-Match on a cached response returns 304")
+    void callDisqualifiedOfficerGetRequestNotModifiedFromCache() throws Exception {
+        NaturalDisqualificationDocument naturalDisqualification = new NaturalDisqualificationDocument();
+        NaturalDisqualificationApi data = new NaturalDisqualificationApi();
+        data.setEtag(ETAG);
+        naturalDisqualification.setData(data);
+
+        doReturn(naturalDisqualification)
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualification(anyString());
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + ETAG + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        verify(disqualifiedOfficerService, times(1)).retrieveNaturalDisqualification(OFFICER_ID);
+        verify(disqualifiedOfficerService, never()).retrieveDisqualificationEtag(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer GET request with a matching If-None-Match returns 304 from the etag lookup")
+    void callDisqualifiedOfficerGetRequestNotModifiedFromEtagLookup() throws Exception {
+        doReturn(ETAG).when(disqualifiedOfficerService)
+                .retrieveDisqualificationEtag(OFFICER_ID, DisqualificationResourceType.NATURAL);
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + ETAG + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + ETAG + "\""));
+
+        verify(disqualifiedOfficerService, never()).retrieveNaturalDisqualification(anyString());
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer GET request with a stale If-None-Match returns the document")
+    void callDisqualifiedOfficerGetRequestWithStaleIfNoneMatch() throws Exception {
+        NaturalDisqualificationDocument naturalDisqualification = new NaturalDisqualificationDocument();
+        NaturalDisqualificationApi data = new NaturalDisqualificationApi();
+        data.setEtag(ETAG);
+        naturalDisqualification.setData(data);
+
+        doReturn(ETAG).when(disqualifiedOfficerService)
+                .retrieveDisqualificationEtag(OFFICER_ID, DisqualificationResourceType.NATURAL);
+        doReturn(naturalDisqualification)
+                .when(disqualifiedOfficerService).retrieveNaturalDisqualification(anyString());
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + ETAG + "\""));
+    }
+
+    @Test
+    @DisplayName("Disqualified Officer GET request with If-None-Match for a missing document returns 404")
+    void callDisqualifiedOfficerGetRequestWithIfNoneMatchWhenDocumentNotFound() throws Exception {
+        doThrow(new NotFoundException("Record not found in MongoDB")).when(disqualifiedOfficerService)
+                .retrieveDisqualificationEtag(OFFICER_ID, DisqualificationResourceType.NATURAL);
+
+        mockMvc.perform(get(NATURAL_GET_URL)
+                        .header("x-request-id", "5342342")
+                        .header("ERIC-Identity", "SOME_IDENTITY")
+                        .header("ERIC-Identity-Type", "key")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + ETAG + "\""))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Disqualified Officer GET request with oauth2 success")
     void callDisqualifiedOfficerGetRequestOauth2() throws Exception {
@@ -0,0 +1,195 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.converter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mongodb.BasicDBObject;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.PermissionToAct;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.PermissionToActMixIn;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.serialization.LocalDateDeSerializer;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.serialization.LocalDateSerializer;
+
+class BsonJacksonBridgeTest {
+
+    private static final JsonWriterSettings EXTENDED = JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED)
+            .build();
+
+    private static final String DISQUALIFICATION = """
+            {
+              "address": {"premise": "30", "address_line_1": "Lucy Road", "locality": "Neath",
+                "country": "Wales", "postal_code": "SA10 6RR"},
+              "case_identifier": "INV3975227",
+              "company_names": ["CONSORTIUM TECHNOLOGY LIMITED", "CONSORTIUM HOLDINGS LIMITED"],
+              "court_name": "Insolvency Service",
+              "disqualification_type": "UNDERTAKING",
+              "disqualified_from": "2022-04-05",
+              "disqualified_until": "2037-04-05",
+              "undertaken_on": "1965-03-01",
+              "reason": {"description_identifier": "string", "section": "CDDA 1987", "act": "7"}
+            }""";
+
+    private static final String NATURAL = """
+            {
+              "person_number": "2",
+              "date_of_birth": "1960-12-31",
+              "etag": "etag",
+              "title": "Mr",
+              "forename": "Dust",
+              "other_forenames": "Condition Reserve",
+              "surname": "KINDNESSLIQUOR",
+              "honours": "",
+              "nationality": "British",
+              "disqualifications": [%s, %s],
+              "permissions_to_act": [{"company_names": ["CONSORTIUM TECHNOLOGY LIMITED"],
+                "court_name": "Cardiff", "granted_on": "2023-01-02", "expires_on": "2024-01-02",
+                "purpose": "ignored"}],
+              "links": {"self": "/disqualified-officers/natural/1234567890"}
+            }""".formatted(DISQUALIFICATION, DISQUALIFICATION);
+
+    private static final String CORPORATE = """
+            {
+              "company_number": "00053723",
+              "name": "BABYLON INCORPORATION LIMITED",
+              "etag": "etag",
+              "country_of_registration": "SCOTLAND",
+              "disqualifications": [%s],
+              "links": {"self": "/disqualified-officers/corporate/1234567891"}
+            }""".formatted(DISQUALIFICATION);
+
+    private ObjectMapper mongoObjectMapper;
+    private NaturalDisqualificationApi natural;
+    private CorporateDisqualificationApi corporate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        mongoObjectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .setSerializationInclusion(JsonInclude.Include.NON_EMPTY)
+                .addMixIn(PermissionToAct.class, PermissionToActMixIn.class)
+                .registerModule(new SimpleModule()
+                        .addSerializer(LocalDate.class, new LocalDateSerializer())
+                        .addDeserializer(LocalDate.class, new LocalDateDeSerializer()));
+
+        ObjectMapper requestObjectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        natural = requestObjectMapper.readValue(NATURAL, NaturalDisqualificationApi.class);
+        corporate = requestObjectMapper.readValue(CORPORATE, CorporateDisqualificationApi.class);
+    }
+
+    @Test
+    void shouldWriteTheSameNaturalDocumentAsParsingJson() throws Exception {
+        // given
+        BasicDBObject expected = BasicDBObject.parse(mongoObjectMapper.writeValueAsString(natural));
+
+        // when
+        BasicDBObject actual = new DisqualifiedNaturalOfficerWriteConverter(mongoObjectMapper).convert(natural);
+
+        // then
+        assertEquals(expected.toJson(EXTENDED), actual.toJson(EXTENDED));
+    }
+
+    @Test
+    void shouldWriteTheSameCorporateDocumentAsParsingJson() throws Exception {
+        // given
+        BasicDBObject expected = BasicDBObject.parse(mongoObjectMapper.writeValueAsString(corporate));
+
+        // when
+        BasicDBObject actual = new DisqualifiedCorporateOfficerWriteConverter(mongoObjectMapper).convert(corporate);
+
+        // then
+        assertEquals(expected.toJson(EXTENDED), actual.toJson(EXTENDED));
+    }
+
+    @Test
+    void shouldReadTheSameNaturalModelAsParsingJson() throws Exception {
+        // given
+        Document source = Document.parse(new DisqualifiedNaturalOfficerWriteConverter(mongoObjectMapper)
+                .convert(natural).toJson(EXTENDED));
+        NaturalDisqualificationApi expected = mongoObjectMapper.readValue(source.toJson(),
+                NaturalDisqualificationApi.class);
+
+        // when
+        NaturalDisqualificationApi actual = new DisqualifiedNaturalOfficerReadConverter(mongoObjectMapper)
+                .convert(source);
+
+        // then
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void shouldReadTheSameCorporateModelAsParsingJson() throws Exception {
+        // given
+        Document source = Document.parse(new DisqualifiedCorporateOfficerWriteConverter(mongoObjectMapper)
+                .convert(corporate).toJson(EXTENDED));
+        CorporateDisqualificationApi expected = mongoObjectMapper.readValue(source.toJson(),
+                CorporateDisqualificationApi.class);
+
+        // when
+        CorporateDisqualificationApi actual = new DisqualifiedCorporateOfficerReadConverter(mongoObjectMapper)
+                .convert(source);
+
+        // then
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void shouldReadTheSameTokensAsRelaxedExtendedJson() throws Exception {
+        // given
+        Document source = new Document("string", "value")
+                .append("int", 1)
+                .append("long", 1L)
+                .append("big_long", Long.MAX_VALUE)
+                .append("double", 1.5)
+                .append("nan", Double.NaN)
+                .append("decimal", Decimal128.parse("1.10"))
+                .append("date", new Date(1_649_116_800_000L))
+                .append("old_date", new Date(-86_400_000L))
+                .append("list", List.of(true, new Document("nested", "value")))
+                .append("null", null);
+        Object expected = mongoObjectMapper.readValue(source.toJson(), Object.class);
+
+        // when
+        Object actual = BsonJacksonBridge.read(mongoObjectMapper, source, Object.class);
+
+        // then
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void shouldTimeReadsAndWritesByType() throws Exception {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            // when
+            BasicDBObject written = BsonJacksonBridge.write(mongoObjectMapper, natural);
+            BsonJacksonBridge.read(mongoObjectMapper, new Document(written), NaturalDisqualificationApi.class);
+
+            // then
+            assertEquals(1, registry.get(BsonJacksonBridge.METRIC_NAME).tag("direction", "write")
+                    .tag("type", "NaturalDisqualificationApi").timer().count());
+            assertEquals(1, registry.get(BsonJacksonBridge.METRIC_NAME).tag("direction", "read")
+                    .tag("type", "NaturalDisqualificationApi").timer().count());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class DataMapHolderTest {
+
+    @AfterEach
+    void tearDown() {
+        DataMapHolder.clear();
+    }
+
+    @Test
+    void shouldKeepRequestContextSeparateOnConcurrentVirtualThreads() throws Exception {
+        // given
+        int requests = 100;
+        CountDownLatch allInitialised = new CountDownLatch(requests);
+        List<Future<String>> results = new ArrayList<>(requests);
+
+        // when
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                String requestId = "request-" + i;
+                results.add(executor.submit(() -> {
+                    DataMapHolder.initialise(requestId);
+                    allInitialised.countDown();
+                    allInitialised.await();
+                    try {
+                        return DataMapHolder.getRequestId();
+                    } finally {
+                        DataMapHolder.clear();
+                    }
+                }));
+            }
+        }
+
+        // then
+        for (int i = 0; i < requests; i++) {
+            assertEquals("request-" + i, results.get(i).get());
+        }
+    }
+
+    @Test
+    void shouldStartFromUninitialisedContextAfterClear() {
+        // given
+        DataMapHolder.initialise("request-id");
+
+        // when
+        DataMapHolder.clear();
+
+        // then
+        assertEquals("uninitialised", DataMapHolder.getRequestId());
+    }
+
+    @Test
+    void shouldRebuildLogMapWhenContextChanges() {
+        // given
+        DataMapHolder.initialise("request-id");
+        DataMapHolder.getLogMap();
+
+        // when
+        DataMapHolder.get().officerId("officer-id");
+        Map<String, Object> actual = DataMapHolder.getLogMap();
+
+        // then
+        assertEquals("request-id", actual.get("request_id"));
+        assertEquals("officer-id", actual.get("officer_id"));
+    }
+
+    @Test
+    void shouldNotShareChangesToReturnedLogMap() {
+        // given
+        DataMapHolder.initialise("request-id");
+        DataMapHolder.getLogMap().put("request_id", "changed");
+
+        // when
+        Map<String, Object> actual = DataMapHolder.getLogMap();
+
+        // then
+        assertEquals("request-id", actual.get("request_id"));
+        assertEquals("request-id", DataMapHolder.getRequestId());
+    }
+}
@@ -1,6 +1,9 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.serialization;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,6 +13,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
@@ -39,4 +43,16 @@ class LocalDateSerializerTest {
         verify(generator).writeRawValue(dateString.capture());
         assertEquals("ISODate(\"2020-01-01T00:00:00.000Z\")", dateString.getValue());
     }
+
+    @Test
+    void dateShouldSerializeAsEmbeddedDateToTokenBuffer() throws Exception {
+        LocalDate date = LocalDate.of(2020, 1, 1);
+        TokenBuffer buffer = new TokenBuffer(null, false);
+
+        serializer.serialize(date, buffer, null);
+
+        JsonParser parser = buffer.asParser();
+        assertEquals(JsonToken.VALUE_EMBEDDED_OBJECT, parser.nextToken());
+        assertEquals(new Date(1577836800000L), parser.getEmbeddedObject());
+    }
 }
@@ -4,6 +4,10 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 
+/**
+ * The {@link DateTimeFormatter} delta_at parsing that {@link DeltaAtCodec} replaced, kept as the reference its
+ * tests and benchmark compare against.
+ */
 public class DateConverter {
 
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSSSSS")
@@ -15,5 +19,4 @@ public class DateConverter {
     static OffsetDateTime deltaAtToOffsetDateTime(final String input) {
         return OffsetDateTime.parse(input, FORMATTER);
     }
-
 }
@@ -36,4 +36,4 @@ class DateConverterTest {
         // then
         assertThrows(DateTimeParseException.class, executable);
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,20 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
@@ -16,12 +23,22 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
 import uk.gov.companieshouse.api.model.ApiResponse;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.api.DisqualifiedOfficerApiService;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.api.ResourceChangedRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.ConflictException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.SerDesException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkDeleteItem;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkDisqualificationResult;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkItemStatus;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DeleteRequestParameters;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,6 +62,8 @@ class DeleteDisqualifiedOfficerServiceTest {
     private DisqualifiedOfficerApiService disqualifiedOfficerApiService;
     @Mock
     private DeletionDataService deletionDataService;
+    @Mock
+    private DisqualificationResponseCache responseCache;
 
     @Mock
     private Object dataObject;
@@ -68,7 +87,8 @@ class DeleteDisqualifiedOfficerServiceTest {
 
         // then
         verify(deletionDataService).processCorporateDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
-        verify(repository).deleteById(OFFICER_ID);
+        verifyNoInteractions(repository);
+        verify(responseCache).invalidate(OFFICER_ID);
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(
                 new ResourceChangedRequest(CONTEXT_ID, OFFICER_ID, DisqualificationResourceType.CORPORATE, dataObject,
                         true));
@@ -93,6 +113,7 @@ class DeleteDisqualifiedOfficerServiceTest {
         // then
         verify(deletionDataService).processCorporateDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
         verifyNoInteractions(repository);
+        verifyNoInteractions(responseCache);
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(
                 new ResourceChangedRequest(CONTEXT_ID, OFFICER_ID, DisqualificationResourceType.CORPORATE, null,
                         true));
@@ -116,7 +137,8 @@ class DeleteDisqualifiedOfficerServiceTest {
 
         // then
         verify(deletionDataService).processCorporateDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
-        verify(repository).deleteById(OFFICER_ID);
+        verifyNoInteractions(repository);
+        verify(responseCache).invalidate(OFFICER_ID);
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(
                 new ResourceChangedRequest(CONTEXT_ID, OFFICER_ID, DisqualificationResourceType.CORPORATE, dataObject,
                         true));
@@ -140,7 +162,8 @@ class DeleteDisqualifiedOfficerServiceTest {
 
         // then
         verify(deletionDataService).processNaturalDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
-        verify(repository).deleteById(OFFICER_ID);
+        verifyNoInteractions(repository);
+        verify(responseCache).invalidate(OFFICER_ID);
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(
                 new ResourceChangedRequest(CONTEXT_ID, OFFICER_ID, DisqualificationResourceType.NATURAL, dataObject,
                         true));
@@ -165,6 +188,7 @@ class DeleteDisqualifiedOfficerServiceTest {
         // then
         verify(deletionDataService).processNaturalDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
         verifyNoInteractions(repository);
+        verifyNoInteractions(responseCache);
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(
                 new ResourceChangedRequest(CONTEXT_ID, OFFICER_ID, DisqualificationResourceType.NATURAL, null,
                         true));
@@ -188,7 +212,8 @@ class DeleteDisqualifiedOfficerServiceTest {
 
         // then
         verify(deletionDataService).processNaturalDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
-        verify(repository).deleteById(OFFICER_ID);
+        verifyNoInteractions(repository);
+        verify(responseCache).invalidate(OFFICER_ID);
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(
                 new ResourceChangedRequest(CONTEXT_ID, OFFICER_ID, DisqualificationResourceType.NATURAL, dataObject,
                         true));
@@ -216,6 +241,248 @@ class DeleteDisqualifiedOfficerServiceTest {
         assertThrows(BadRequestException.class, ex);
         verifyNoInteractions(deletionDataService);
         verifyNoInteractions(repository);
+        verifyNoInteractions(responseCache);
+        verifyNoInteractions(disqualifiedOfficerApiService);
+    }
+
+    @Test
+    void shouldProcessBulkDeletionsWithStatusPerItem() {
+        // given
+        DisqualificationDocument natural = new NaturalDisqualificationDocument().setId("natural_id");
+        DisqualificationDocument stale = new NaturalDisqualificationDocument().setId("stale_id");
+        when(deletionDataService.findAllById(DisqualificationResourceType.NATURAL, Set.of("natural_id", "stale_id")))
+                .thenReturn(Map.of("natural_id", natural, "stale_id", stale));
+        when(deletionDataService.findAllById(DisqualificationResourceType.CORPORATE, Set.of("missing_id")))
+                .thenReturn(Map.of());
+        when(deletionDataService.checkDeletable(DisqualificationResourceType.NATURAL, natural, REQUEST_DELTA_AT))
+                .thenReturn(dataObject);
+        when(deletionDataService.checkDeletable(DisqualificationResourceType.NATURAL, stale, REQUEST_DELTA_AT))
+                .thenThrow(new ConflictException("stale"));
+        when(repository.deleteAllUnchanged(List.of(natural))).thenReturn(Set.of("natural_id"));
+
+        List<BulkDeleteItem> items = List.of(
+                new BulkDeleteItem(NATURAL, "natural_id", REQUEST_DELTA_AT),
+                new BulkDeleteItem(CORPORATE, "missing_id", REQUEST_DELTA_AT),
+                new BulkDeleteItem(NATURAL, "stale_id", REQUEST_DELTA_AT),
+                new BulkDeleteItem("invalid", "invalid_id", REQUEST_DELTA_AT));
+
+        // when
+        List<BulkDisqualificationResult> actual = service.processBulkDeletions(CONTEXT_ID, items);
+
+        // then
+        assertEquals(List.of(
+                new BulkDisqualificationResult("natural_id", BulkItemStatus.APPLIED),
+                new BulkDisqualificationResult("missing_id", BulkItemStatus.NOT_FOUND),
+                new BulkDisqualificationResult("stale_id", BulkItemStatus.STALE),
+                new BulkDisqualificationResult("invalid_id", BulkItemStatus.INVALID)), actual);
+        verify(responseCache).invalidate("natural_id");
+        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest(CONTEXT_ID,
+                "natural_id", DisqualificationResourceType.NATURAL, dataObject, true));
+        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest(CONTEXT_ID,
+                "missing_id", DisqualificationResourceType.CORPORATE, null, true));
+        verifyNoMoreInteractions(disqualifiedOfficerApiService, responseCache);
+    }
+
+    @Test
+    void shouldFailBulkDeletionWhenDocumentChangedSinceRead() {
+        // given
+        DisqualificationDocument corporate = new CorporateDisqualificationDocument().setId(OFFICER_ID);
+        when(deletionDataService.findAllById(DisqualificationResourceType.CORPORATE, Set.of(OFFICER_ID)))
+                .thenReturn(Map.of(OFFICER_ID, corporate));
+        when(deletionDataService.checkDeletable(DisqualificationResourceType.CORPORATE, corporate, REQUEST_DELTA_AT))
+                .thenReturn(dataObject);
+        when(repository.deleteAllUnchanged(List.of(corporate))).thenReturn(Set.of());
+
+        // when
+        List<BulkDisqualificationResult> actual = service.processBulkDeletions(CONTEXT_ID,
+                List.of(new BulkDeleteItem(CORPORATE, OFFICER_ID, REQUEST_DELTA_AT)));
+
+        // then
+        assertEquals(List.of(new BulkDisqualificationResult(OFFICER_ID, BulkItemStatus.FAILED)), actual);
+        verifyNoInteractions(responseCache);
+        verifyNoInteractions(disqualifiedOfficerApiService);
+    }
+
+    @Test
+    void shouldReadAgainAndDeleteWhenDocumentChangedSinceRead() {
+        // given
+        DisqualificationDocument first = new NaturalDisqualificationDocument().setId(OFFICER_ID).setVersion(1L);
+        DisqualificationDocument second = new NaturalDisqualificationDocument().setId(OFFICER_ID).setVersion(2L);
+        when(deletionDataService.findAllById(DisqualificationResourceType.NATURAL, Set.of(OFFICER_ID)))
+                .thenReturn(Map.of(OFFICER_ID, first), Map.of(OFFICER_ID, second));
+        when(deletionDataService.checkDeletable(eq(DisqualificationResourceType.NATURAL), any(), eq(REQUEST_DELTA_AT)))
+                .thenReturn(dataObject);
+        when(repository.deleteAllUnchanged(List.of(first))).thenReturn(Set.of());
+        when(repository.deleteAllUnchanged(List.of(second))).thenReturn(Set.of(OFFICER_ID));
+
+        // when
+        List<BulkDisqualificationResult> actual = service.processBulkDeletions(CONTEXT_ID,
+                List.of(new BulkDeleteItem(NATURAL, OFFICER_ID, REQUEST_DELTA_AT)));
+
+        // then
+        assertEquals(List.of(new BulkDisqualificationResult(OFFICER_ID, BulkItemStatus.APPLIED)), actual);
+        verify(deletionDataService, times(2)).findAllById(DisqualificationResourceType.NATURAL, Set.of(OFFICER_ID));
+        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest(CONTEXT_ID,
+                OFFICER_ID, DisqualificationResourceType.NATURAL, dataObject, true));
+    }
+
+    @Test
+    void shouldMarkStaleWhenDocumentReadAgainIsNewer() {
+        // given
+        DisqualificationDocument first = new NaturalDisqualificationDocument().setId(OFFICER_ID).setVersion(1L);
+        DisqualificationDocument second = new NaturalDisqualificationDocument().setId(OFFICER_ID).setVersion(2L);
+        when(deletionDataService.findAllById(DisqualificationResourceType.NATURAL, Set.of(OFFICER_ID)))
+                .thenReturn(Map.of(OFFICER_ID, first), Map.of(OFFICER_ID, second));
+        when(deletionDataService.checkDeletable(DisqualificationResourceType.NATURAL, first, REQUEST_DELTA_AT))
+                .thenReturn(dataObject);
+        when(deletionDataService.checkDeletable(DisqualificationResourceType.NATURAL, second, REQUEST_DELTA_AT))
+                .thenThrow(new ConflictException("stale"));
+        when(repository.deleteAllUnchanged(List.of(first))).thenReturn(Set.of());
+
+        // when
+        List<BulkDisqualificationResult> actual = service.processBulkDeletions(CONTEXT_ID,
+                List.of(new BulkDeleteItem(NATURAL, OFFICER_ID, REQUEST_DELTA_AT)));
+
+        // then
+        assertEquals(List.of(new BulkDisqualificationResult(OFFICER_ID, BulkItemStatus.STALE)), actual);
+        verifyNoInteractions(disqualifiedOfficerApiService);
+    }
+
+    @Test
+    void shouldFailBulkDeletionWhenChsKafkaApiFails() {
+        // given
+        DisqualificationDocument natural = new NaturalDisqualificationDocument().setId(OFFICER_ID);
+        when(deletionDataService.findAllById(DisqualificationResourceType.NATURAL, Set.of(OFFICER_ID)))
+                .thenReturn(Map.of(OFFICER_ID, natural));
+        when(deletionDataService.checkDeletable(DisqualificationResourceType.NATURAL, natural, REQUEST_DELTA_AT))
+                .thenReturn(dataObject);
+        when(repository.deleteAllUnchanged(List.of(natural))).thenReturn(Set.of(OFFICER_ID));
+        when(disqualifiedOfficerApiService.invokeChsKafkaApi(any())).thenThrow(new BadGatewayException("error"));
+
+        // when
+        List<BulkDisqualificationResult> actual = service.processBulkDeletions(CONTEXT_ID,
+                List.of(new BulkDeleteItem(NATURAL, OFFICER_ID, REQUEST_DELTA_AT)));
+
+        // then
+        assertEquals(List.of(new BulkDisqualificationResult(OFFICER_ID, BulkItemStatus.FAILED)), actual);
+        verify(responseCache).invalidate(OFFICER_ID);
+    }
+
+    @Test
+    void shouldMarkRepeatedOfficerIdInvalidAndDeleteOnce() {
+        // given
+        DisqualificationDocument natural = new NaturalDisqualificationDocument().setId(OFFICER_ID);
+        when(deletionDataService.findAllById(DisqualificationResourceType.NATURAL, Set.of(OFFICER_ID)))
+                .thenReturn(Map.of(OFFICER_ID, natural));
+        when(deletionDataService.checkDeletable(DisqualificationResourceType.NATURAL, natural, REQUEST_DELTA_AT))
+                .thenReturn(dataObject);
+        when(repository.deleteAllUnchanged(List.of(natural))).thenReturn(Set.of(OFFICER_ID));
+
+        // when
+        List<BulkDisqualificationResult> actual = service.processBulkDeletions(CONTEXT_ID, List.of(
+                new BulkDeleteItem(NATURAL, OFFICER_ID, REQUEST_DELTA_AT),
+                new BulkDeleteItem(CORPORATE, OFFICER_ID, REQUEST_DELTA_AT)));
+
+        // then
+        assertEquals(List.of(
+                new BulkDisqualificationResult(OFFICER_ID, BulkItemStatus.APPLIED),
+                new BulkDisqualificationResult(OFFICER_ID, BulkItemStatus.INVALID)), actual);
+        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest(CONTEXT_ID,
+                OFFICER_ID, DisqualificationResourceType.NATURAL, dataObject, true));
+        verifyNoMoreInteractions(disqualifiedOfficerApiService);
+    }
+
+    @Test
+    void shouldReportNotFoundWhenAnotherWriterDeletedTheDocument() {
+        // given
+        DisqualificationDocument natural = new NaturalDisqualificationDocument().setId(OFFICER_ID);
+        when(deletionDataService.findAllById(DisqualificationResourceType.NATURAL, Set.of(OFFICER_ID)))
+                .thenReturn(Map.of(OFFICER_ID, natural), Map.of());
+        when(deletionDataService.checkDeletable(DisqualificationResourceType.NATURAL, natural, REQUEST_DELTA_AT))
+                .thenReturn(dataObject);
+        when(repository.deleteAllUnchanged(List.of(natural))).thenReturn(Set.of());
+
+        // when
+        List<BulkDisqualificationResult> actual = service.processBulkDeletions(CONTEXT_ID,
+                List.of(new BulkDeleteItem(NATURAL, OFFICER_ID, REQUEST_DELTA_AT)));
+
+        // then
+        assertEquals(List.of(new BulkDisqualificationResult(OFFICER_ID, BulkItemStatus.NOT_FOUND)), actual);
+        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest(CONTEXT_ID,
+                OFFICER_ID, DisqualificationResourceType.NATURAL, null, true));
+        verifyNoMoreInteractions(disqualifiedOfficerApiService);
+        verifyNoInteractions(responseCache);
+    }
+
+    @Test
+    void shouldApplyDeletedItemsWithTheirDataWhenAnotherWriterDeletedOneOfTheBatch() {
+        // given
+        DisqualificationDocument deleted = new NaturalDisqualificationDocument().setId("deleted_id");
+        DisqualificationDocument gone = new NaturalDisqualificationDocument().setId("gone_id");
+        when(deletionDataService.findAllById(DisqualificationResourceType.NATURAL, Set.of("deleted_id", "gone_id")))
+                .thenReturn(Map.of("deleted_id", deleted, "gone_id", gone));
+        when(deletionDataService.findAllById(DisqualificationResourceType.NATURAL, Set.of("gone_id")))
+                .thenReturn(Map.of());
+        when(deletionDataService.checkDeletable(eq(DisqualificationResourceType.NATURAL), any(), eq(REQUEST_DELTA_AT)))
+                .thenReturn(dataObject);
+        when(repository.deleteAllUnchanged(List.of(deleted, gone))).thenReturn(Set.of("deleted_id"));
+
+        // when
+        List<BulkDisqualificationResult> actual = service.processBulkDeletions(CONTEXT_ID, List.of(
+                new BulkDeleteItem(NATURAL, "deleted_id", REQUEST_DELTA_AT),
+                new BulkDeleteItem(NATURAL, "gone_id", REQUEST_DELTA_AT)));
+
+        // then
+        assertEquals(List.of(
+                new BulkDisqualificationResult("deleted_id", BulkItemStatus.APPLIED),
+                new BulkDisqualificationResult("gone_id", BulkItemStatus.NOT_FOUND)), actual);
+        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest(CONTEXT_ID,
+                "deleted_id", DisqualificationResourceType.NATURAL, dataObject, true));
+        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest(CONTEXT_ID,
+                "gone_id", DisqualificationResourceType.NATURAL, null, true));
+    }
+
+    @Test
+    void shouldFailOnlyTheBulkDeletionWhoseResourceChangedCallThrows() {
+        // given
+        DisqualificationDocument first = new NaturalDisqualificationDocument().setId("first_id");
+        DisqualificationDocument second = new NaturalDisqualificationDocument().setId("second_id");
+        when(deletionDataService.findAllById(DisqualificationResourceType.NATURAL, Set.of("first_id", "second_id")))
+                .thenReturn(Map.of("first_id", first, "second_id", second));
+        when(deletionDataService.checkDeletable(eq(DisqualificationResourceType.NATURAL), any(), eq(REQUEST_DELTA_AT)))
+                .thenReturn(dataObject);
+        when(repository.deleteAllUnchanged(List.of(first, second))).thenReturn(Set.of("first_id", "second_id"));
+        when(disqualifiedOfficerApiService.invokeChsKafkaApi(any()))
+                .thenThrow(new SerDesException("error", null))
+                .thenReturn(successResponse);
+
+        // when
+        List<BulkDisqualificationResult> actual = service.processBulkDeletions(CONTEXT_ID, List.of(
+                new BulkDeleteItem(NATURAL, "first_id", REQUEST_DELTA_AT),
+                new BulkDeleteItem(NATURAL, "second_id", REQUEST_DELTA_AT)));
+
+        // then
+        assertEquals(List.of(
+                new BulkDisqualificationResult("first_id", BulkItemStatus.FAILED),
+                new BulkDisqualificationResult("second_id", BulkItemStatus.APPLIED)), actual);
+    }
+
+    @Test
+    void shouldThrowBadGatewayWhenBulkDeleteFails() {
+        // given
+        DisqualificationDocument natural = new NaturalDisqualificationDocument().setId(OFFICER_ID);
+        when(deletionDataService.findAllById(DisqualificationResourceType.NATURAL, Set.of(OFFICER_ID)))
+                .thenReturn(Map.of(OFFICER_ID, natural));
+        when(deletionDataService.checkDeletable(DisqualificationResourceType.NATURAL, natural, REQUEST_DELTA_AT))
+                .thenReturn(dataObject);
+        when(repository.deleteAllUnchanged(List.of(natural))).thenThrow(new DataAccessResourceFailureException("error"));
+        List<BulkDeleteItem> items = List.of(new BulkDeleteItem(NATURAL, OFFICER_ID, REQUEST_DELTA_AT));
+
+        // when
+        Executable ex = () -> service.processBulkDeletions(CONTEXT_ID, items);
+
+        // then
+        assertThrows(BadGatewayException.class, ex);
         verifyNoInteractions(disqualifiedOfficerApiService);
     }
 }
@@ -3,6 +3,9 @@ package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -11,6 +14,9 @@ import static org.mockito.Mockito.when;
 import static uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi.KindEnum.CORPORATE_DISQUALIFICATION;
 import static uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION;
 
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,13 +24,19 @@ import org.junit.jupiter.api.function.Executable;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
 import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.ConflictException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.CorporateDisqualifiedOfficerRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualificationEtag;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.NaturalDisqualifiedOfficerRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,16 +46,22 @@ class DeletionDataServiceTest {
     private static final String REQUEST_DELTA_AT = "20240925171003950844";
     private static final String EXISTING_DELTA_AT = "20230925171003950844";
     private static final String STALE_DELTA_AT = "20220925171003950844";
+    private static final long REQUEST_DELTA_AT_MICROS = DeltaAtCodec.parseEpochMicros(REQUEST_DELTA_AT);
+    private static final long STALE_DELTA_AT_MICROS = DeltaAtCodec.parseEpochMicros(STALE_DELTA_AT);
 
     @InjectMocks
     private DeletionDataService deletionDataService;
 
+    @Mock
+    private DisqualifiedOfficerRepository repository;
     @Mock
     private NaturalDisqualifiedOfficerRepository naturalRepository;
     @Mock
     private CorporateDisqualifiedOfficerRepository corporateRepository;
     @Mock
     private DeltaAtHandler deltaAtHandler;
+    @Mock
+    private StaleDeltaCounter staleDeltas;
 
     @Mock
     private NaturalDisqualificationDocument naturalDisqualificationDocument;
@@ -57,10 +75,8 @@ class DeletionDataServiceTest {
     @Test
     void shouldReturnNaturalDisqualificationData() {
         // given
-        when(naturalRepository.findById(anyString())).thenReturn(Optional.of(naturalDisqualificationDocument));
-        when(naturalDisqualificationDocument.isCorporateOfficer()).thenReturn(false);
-        when(naturalDisqualificationDocument.getDeltaAt()).thenReturn(EXISTING_DELTA_AT);
-        when(deltaAtHandler.isRequestStale(anyString(), anyString())).thenReturn(false);
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, false, REQUEST_DELTA_AT, REQUEST_DELTA_AT_MICROS,
+                NaturalDisqualificationDocument.class)).thenReturn(Optional.of(naturalDisqualificationDocument));
         when(naturalDisqualificationDocument.getData()).thenReturn(naturalData);
 
         // when
@@ -68,66 +84,62 @@ class DeletionDataServiceTest {
 
         // then
         assertEquals(naturalData, actual);
-        verify(naturalRepository).findById(OFFICER_ID);
-        verify(deltaAtHandler).isRequestStale(REQUEST_DELTA_AT, EXISTING_DELTA_AT);
         verify(naturalData).setKind(NATURAL_DISQUALIFICATION);
-        verifyNoInteractions(corporateRepository);
+        verify(repository, times(0)).findEtagById(anyString());
+        verifyNoInteractions(naturalRepository, corporateRepository, deltaAtHandler);
     }
 
     @Test
     void shouldReturnNullDataWhenNoNaturalDocumentFound() {
         // given
-        when(naturalRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, false, REQUEST_DELTA_AT, REQUEST_DELTA_AT_MICROS,
+                NaturalDisqualificationDocument.class)).thenReturn(Optional.empty());
+        when(repository.findEtagById(OFFICER_ID)).thenReturn(Optional.empty());
 
         // when
         Object actual = deletionDataService.processNaturalDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
 
         // then
         assertNull(actual);
-        verifyNoInteractions(corporateRepository);
+        verifyNoInteractions(naturalRepository, corporateRepository);
     }
 
     @Test
     void shouldThrowConflictExceptionWhenRequestIsStaleOnNaturalDelete() {
         // given
-        when(naturalRepository.findById(anyString())).thenReturn(Optional.of(naturalDisqualificationDocument));
-        when(naturalDisqualificationDocument.isCorporateOfficer()).thenReturn(false);
-        when(naturalDisqualificationDocument.getDeltaAt()).thenReturn(EXISTING_DELTA_AT);
-        when(deltaAtHandler.isRequestStale(anyString(), anyString())).thenReturn(true);
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, false, STALE_DELTA_AT, STALE_DELTA_AT_MICROS,
+                NaturalDisqualificationDocument.class)).thenReturn(Optional.empty());
+        when(repository.findEtagById(OFFICER_ID)).thenReturn(Optional.of(new DisqualificationEtag("etag", false)));
 
         // when
         Executable ex = () -> deletionDataService.processNaturalDisqualificationData(OFFICER_ID, STALE_DELTA_AT);
 
         // then
         assertThrows(ConflictException.class, ex);
-        verify(deltaAtHandler).isRequestStale(STALE_DELTA_AT, EXISTING_DELTA_AT);
-        verify(naturalDisqualificationDocument, times(0)).getData();
-        verifyNoInteractions(corporateRepository);
+        verify(staleDeltas).delete(DisqualificationResourceType.NATURAL);
+        verifyNoInteractions(naturalRepository, corporateRepository);
     }
 
     @Test
     void shouldThrowBadRequestExceptionWhenRequestTypeIsNaturalButMongoDocumentIsCorporate() {
         // given
-        when(naturalRepository.findById(anyString())).thenReturn(Optional.of(naturalDisqualificationDocument));
-        when(naturalDisqualificationDocument.isCorporateOfficer()).thenReturn(true);
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, false, REQUEST_DELTA_AT, REQUEST_DELTA_AT_MICROS,
+                NaturalDisqualificationDocument.class)).thenReturn(Optional.empty());
+        when(repository.findEtagById(OFFICER_ID)).thenReturn(Optional.of(new DisqualificationEtag("etag", true)));
 
         // when
-        Executable ex = () -> deletionDataService.processNaturalDisqualificationData(OFFICER_ID, STALE_DELTA_AT);
+        Executable ex = () -> deletionDataService.processNaturalDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
 
         // then
         assertThrows(BadRequestException.class, ex);
-        verifyNoInteractions(deltaAtHandler);
-        verify(naturalDisqualificationDocument, times(0)).getData();
-        verifyNoInteractions(corporateRepository);
+        verifyNoInteractions(naturalRepository, corporateRepository);
     }
 
     @Test
     void shouldReturnCorporateDisqualificationData() {
         // given
-        when(corporateRepository.findById(anyString())).thenReturn(Optional.of(corporateDisqualificationDocument));
-        when(corporateDisqualificationDocument.isCorporateOfficer()).thenReturn(true);
-        when(corporateDisqualificationDocument.getDeltaAt()).thenReturn(EXISTING_DELTA_AT);
-        when(deltaAtHandler.isRequestStale(anyString(), anyString())).thenReturn(false);
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, true, REQUEST_DELTA_AT, REQUEST_DELTA_AT_MICROS,
+                CorporateDisqualificationDocument.class)).thenReturn(Optional.of(corporateDisqualificationDocument));
         when(corporateDisqualificationDocument.getData()).thenReturn(corporateData);
 
         // when
@@ -135,56 +147,128 @@ class DeletionDataServiceTest {
 
         // then
         assertEquals(corporateData, actual);
-        verify(corporateRepository).findById(OFFICER_ID);
-        verify(deltaAtHandler).isRequestStale(REQUEST_DELTA_AT, EXISTING_DELTA_AT);
         verify(corporateData).setKind(CORPORATE_DISQUALIFICATION);
-        verifyNoInteractions(naturalRepository);
+        verify(repository, times(0)).findEtagById(anyString());
+        verifyNoInteractions(naturalRepository, corporateRepository, deltaAtHandler);
     }
 
     @Test
     void shouldReturnNullDataWhenNoCorporateDocumentFound() {
         // given
-        when(corporateRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, true, REQUEST_DELTA_AT, REQUEST_DELTA_AT_MICROS,
+                CorporateDisqualificationDocument.class)).thenReturn(Optional.empty());
+        when(repository.findEtagById(OFFICER_ID)).thenReturn(Optional.empty());
 
         // when
         Object actual = deletionDataService.processCorporateDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
 
         // then
         assertNull(actual);
-        verifyNoInteractions(naturalRepository);
+        verifyNoInteractions(naturalRepository, corporateRepository);
     }
 
     @Test
     void shouldThrowConflictExceptionWhenRequestIsStaleOnCorporateDelete() {
         // given
-        when(corporateRepository.findById(anyString())).thenReturn(Optional.of(corporateDisqualificationDocument));
-        when(corporateDisqualificationDocument.isCorporateOfficer()).thenReturn(true);
-        when(corporateDisqualificationDocument.getDeltaAt()).thenReturn(EXISTING_DELTA_AT);
-        when(deltaAtHandler.isRequestStale(anyString(), anyString())).thenReturn(true);
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, true, STALE_DELTA_AT, STALE_DELTA_AT_MICROS,
+                CorporateDisqualificationDocument.class)).thenReturn(Optional.empty());
+        when(repository.findEtagById(OFFICER_ID)).thenReturn(Optional.of(new DisqualificationEtag("etag", true)));
 
         // when
         Executable ex = () -> deletionDataService.processCorporateDisqualificationData(OFFICER_ID, STALE_DELTA_AT);
 
         // then
         assertThrows(ConflictException.class, ex);
-        verify(deltaAtHandler).isRequestStale(STALE_DELTA_AT, EXISTING_DELTA_AT);
-        verify(corporateDisqualificationDocument, times(0)).getData();
-        verifyNoInteractions(naturalRepository);
+        verify(staleDeltas).delete(DisqualificationResourceType.CORPORATE);
+        verifyNoInteractions(naturalRepository, corporateRepository);
     }
 
     @Test
     void shouldThrowBadRequestExceptionWhenRequestTypeIsCorporateButMongoDocumentIsNatural() {
         // given
-        when(corporateRepository.findById(anyString())).thenReturn(Optional.of(corporateDisqualificationDocument));
-        when(corporateDisqualificationDocument.isCorporateOfficer()).thenReturn(false);
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, true, REQUEST_DELTA_AT, REQUEST_DELTA_AT_MICROS,
+                CorporateDisqualificationDocument.class)).thenReturn(Optional.empty());
+        when(repository.findEtagById(OFFICER_ID)).thenReturn(Optional.of(new DisqualificationEtag("etag", false)));
 
         // when
-        Executable ex = () -> deletionDataService.processCorporateDisqualificationData(OFFICER_ID, STALE_DELTA_AT);
+        Executable ex = () -> deletionDataService.processCorporateDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
 
         // then
         assertThrows(BadRequestException.class, ex);
-        verifyNoInteractions(deltaAtHandler);
-        verify(corporateDisqualificationDocument, times(0)).getData();
+        verifyNoInteractions(naturalRepository, corporateRepository);
+    }
+
+    @Test
+    void shouldThrowBadGatewayExceptionWhenDeleteFails() {
+        // given
+        when(repository.findAndDeleteIfNotStale(OFFICER_ID, false, REQUEST_DELTA_AT, REQUEST_DELTA_AT_MICROS,
+                NaturalDisqualificationDocument.class)).thenThrow(new DataAccessResourceFailureException("error"));
+
+        // when
+        Executable ex = () -> deletionDataService.processNaturalDisqualificationData(OFFICER_ID, REQUEST_DELTA_AT);
+
+        // then
+        assertThrows(BadGatewayException.class, ex);
+    }
+
+    @Test
+    void shouldRejectInvalidDeltaAtWithoutDeletingWhenDocumentExists() {
+        // given
+        when(repository.findEtagById(OFFICER_ID)).thenReturn(Optional.of(new DisqualificationEtag("etag", false)));
+
+        // when
+        Executable ex = () -> deletionDataService.processNaturalDisqualificationData(OFFICER_ID, "invalid");
+
+        // then
+        assertThrows(DateTimeParseException.class, ex);
+        verify(repository, times(0)).findAndDeleteIfNotStale(anyString(), anyBoolean(), anyString(), anyLong(),
+                any());
+    }
+
+    @Test
+    void shouldReturnNullDataForInvalidDeltaAtWhenNoDocumentFound() {
+        // given
+        when(repository.findEtagById(OFFICER_ID)).thenReturn(Optional.empty());
+
+        // when
+        Object actual = deletionDataService.processCorporateDisqualificationData(OFFICER_ID, "invalid");
+
+        // then
+        assertNull(actual);
+        verify(repository, times(0)).findAndDeleteIfNotStale(anyString(), anyBoolean(), anyString(), anyLong(),
+                any());
+    }
+
+    @Test
+    void shouldFindCorporateDocumentsKeyedByOfficerId() {
+        // given
+        when(corporateRepository.findAllById(List.of(OFFICER_ID))).thenReturn(List.of(corporateDisqualificationDocument));
+        when(corporateDisqualificationDocument.getId()).thenReturn(OFFICER_ID);
+
+        // when
+        Map<String, DisqualificationDocument> actual = deletionDataService.findAllById(
+                DisqualificationResourceType.CORPORATE, List.of(OFFICER_ID));
+
+        // then
+        assertEquals(Map.of(OFFICER_ID, corporateDisqualificationDocument), actual);
         verifyNoInteractions(naturalRepository);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldApplyDeleteRulesToFetchedNaturalDocument() {
+        // given
+        when(naturalDisqualificationDocument.isCorporateOfficer()).thenReturn(false);
+        when(naturalDisqualificationDocument.getDeltaAt()).thenReturn(EXISTING_DELTA_AT);
+        when(deltaAtHandler.isRequestStale(anyString(), anyString())).thenReturn(false);
+        when(naturalDisqualificationDocument.getData()).thenReturn(naturalData);
+
+        // when
+        Object actual = deletionDataService.checkDeletable(DisqualificationResourceType.NATURAL,
+                naturalDisqualificationDocument, REQUEST_DELTA_AT);
+
+        // then
+        assertEquals(naturalData, actual);
+        verify(naturalData).setKind(NATURAL_DISQUALIFICATION);
+        verifyNoInteractions(naturalRepository, corporateRepository);
+    }
+}
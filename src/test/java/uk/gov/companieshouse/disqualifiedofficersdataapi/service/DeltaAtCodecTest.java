@@ -0,0 +1,119 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static uk.gov.companieshouse.disqualifiedofficersdataapi.service.DateConverter.deltaAtToOffsetDateTime;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class DeltaAtCodecTest {
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSSSSS");
+
+    @Test
+    void shouldParseDeltaAtToEpochMicros() {
+        // given
+        final String input = "20240925171003950844";
+
+        // when
+        long actual = DeltaAtCodec.parseEpochMicros(input);
+
+        // then
+        assertEquals(1727284203950844L, actual);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "20240925171003950844",
+            "19700101000000000000",
+            "19691231235959999999",
+            "00010101000000000000",
+            "99991231235959999999",
+            "20240229120000000000",
+            "20230229120000000000",
+            "20230431120000000000",
+            "21000229000000000000",
+            "20000229000000000000",
+            "20231231240000000000",
+            "20240131240000000000",
+    })
+    void shouldParseTheSameValueAsDateTimeFormatter(final String input) {
+        // given
+        OffsetDateTime expected = deltaAtToOffsetDateTime(input);
+
+        // when
+        long actual = DeltaAtCodec.parseEpochMicros(input);
+
+        // then
+        assertEquals(expected.toEpochSecond() * 1_000_000L + expected.getNano() / 1_000, actual);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "20240925",
+            "202409251710039508440",
+            "00000925171003950844",
+            "20240025171003950844",
+            "20241325171003950844",
+            "20240900171003950844",
+            "20240932171003950844",
+            "20240925251003950844",
+            "20240925241003950844",
+            "20240925240000000001",
+            "20240925176003950844",
+            "20240925171060950844",
+            "2024-925171003950844",
+            "2024092517100395084x",
+            "２0240925171003950844",
+    })
+    void shouldRejectWhatDateTimeFormatterRejects(final String input) {
+        // given
+        assertThrows(DateTimeParseException.class, () -> deltaAtToOffsetDateTime(input));
+
+        // when
+        Executable executable = () -> DeltaAtCodec.parseEpochMicros(input);
+
+        // then
+        assertThrows(DateTimeParseException.class, executable);
+    }
+
+    @Test
+    void shouldConvertOffsetDateTimeToEpochMicrosUsingLocalFields() {
+        // given
+        OffsetDateTime input = OffsetDateTime.of(2024, 9, 25, 17, 10, 3, 950844000, ZoneOffset.ofHours(1));
+
+        // when
+        long actual = DeltaAtCodec.toEpochMicros(input);
+
+        // then
+        assertEquals(1727284203950844L, actual);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2024-09-25T17:10:03.950844Z",
+            "2024-09-25T17:10:03.950844999+01:00",
+            "0001-01-01T00:00:00Z",
+            "9999-12-31T23:59:59.999999Z",
+            "1969-12-31T23:59:59.5Z",
+    })
+    void shouldFormatTheSameAsDateTimeFormatter(final String input) {
+        // given
+        OffsetDateTime deltaAt = OffsetDateTime.parse(input);
+
+        // when
+        String actual = DeltaAtCodec.format(deltaAt);
+
+        // then
+        assertEquals(FORMATTER.format(deltaAt), actual);
+        assertEquals(DeltaAtCodec.toEpochMicros(deltaAt), DeltaAtCodec.parseEpochMicros(actual));
+    }
+}
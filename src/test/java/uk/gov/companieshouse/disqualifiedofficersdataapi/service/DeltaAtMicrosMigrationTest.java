@@ -0,0 +1,74 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.bulk.BulkWriteResult;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
+
+@ExtendWith(MockitoExtension.class)
+class DeltaAtMicrosMigrationTest {
+
+    private static final String COLLECTION = "disqualifications";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+    @Mock
+    private IndexOperations indexOperations;
+    @Mock
+    private BulkOperations bulkOperations;
+    @Mock
+    private BulkWriteResult bulkWriteResult;
+
+    @Test
+    void shouldNotStartWhenDisabled() {
+        // given
+        DeltaAtMicrosMigration migration = new DeltaAtMicrosMigration(mongoTemplate, false, 10, 0);
+
+        // when
+        migration.start();
+
+        // then
+        verifyNoInteractions(mongoTemplate);
+    }
+
+    @Test
+    void shouldBackfillParseableDeltaAtValues() {
+        // given
+        DeltaAtMicrosMigration migration = new DeltaAtMicrosMigration(mongoTemplate, true, 10, 0);
+        when(mongoTemplate.getCollectionName(DisqualificationDocument.class)).thenReturn(COLLECTION);
+        when(mongoTemplate.indexOps(COLLECTION)).thenReturn(indexOperations);
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(COLLECTION))).thenReturn(
+                List.of(new Document("_id", "1").append("delta_at", "20240925171003950844"),
+                        new Document("_id", "2").append("delta_at", "not-a-delta-at")),
+                List.of());
+        when(mongoTemplate.bulkOps(BulkMode.UNORDERED, COLLECTION)).thenReturn(bulkOperations);
+        when(bulkOperations.execute()).thenReturn(bulkWriteResult);
+
+        // when
+        migration.migrate();
+
+        // then
+        verify(indexOperations).ensureIndex(any(IndexDefinition.class));
+        verify(bulkOperations, times(1)).updateOne(any(Query.class),
+                eq(Update.update("delta_at_micros", 1727284203950844L)));
+        verify(bulkOperations).execute();
+    }
+}
@@ -0,0 +1,89 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadRequestException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ChangeOperation;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationChange;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationChanges;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DisqualificationChangeFeedServiceTest {
+
+    private static final int MAXIMUM_ITEMS = 100;
+    private static final long MAX_AWAIT_MILLIS = 1000;
+    private static final String RESUME_TOKEN = "resume_token";
+
+    @Mock
+    private DisqualifiedOfficerRepository repository;
+
+    private DisqualificationChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        changeFeedService = new DisqualificationChangeFeedService(repository, MAXIMUM_ITEMS, MAX_AWAIT_MILLIS);
+    }
+
+    @Test
+    void shouldReadUpToMaximumItemsWhenNoLimitIsGiven() {
+        // given
+        DisqualificationChanges expected = new DisqualificationChanges(
+                List.of(new DisqualificationChange("officer_id", ChangeOperation.CHANGED)), "next_token");
+        when(repository.findChanges(RESUME_TOKEN, MAXIMUM_ITEMS, MAX_AWAIT_MILLIS)).thenReturn(expected);
+
+        // when
+        DisqualificationChanges actual = changeFeedService.retrieveChanges(RESUME_TOKEN, null);
+
+        // then
+        assertSame(expected, actual);
+    }
+
+    @Test
+    void shouldRejectLimitOverMaximumItems() {
+        // when
+        assertThrows(BadRequestException.class, () -> changeFeedService.retrieveChanges(RESUME_TOKEN,
+                MAXIMUM_ITEMS + 1));
+
+        // then
+        verify(repository, never()).findChanges(RESUME_TOKEN, MAXIMUM_ITEMS + 1, MAX_AWAIT_MILLIS);
+    }
+
+    @Test
+    void shouldThrowBadRequestWhenTokenCannotBeResumed() {
+        // given
+        when(repository.findChanges(RESUME_TOKEN, 10, MAX_AWAIT_MILLIS))
+                .thenThrow(new IllegalArgumentException("history lost"));
+
+        // when
+        assertThrows(BadRequestException.class, () -> changeFeedService.retrieveChanges(RESUME_TOKEN, 10));
+
+        // then
+        verify(repository).findChanges(RESUME_TOKEN, 10, MAX_AWAIT_MILLIS);
+    }
+
+    @Test
+    void shouldThrowBadGatewayWhenMongoFails() {
+        // given
+        when(repository.findChanges(null, MAXIMUM_ITEMS, MAX_AWAIT_MILLIS))
+                .thenThrow(new DataAccessResourceFailureException("no primary"));
+
+        // when
+        assertThrows(BadGatewayException.class, () -> changeFeedService.retrieveChanges(null, null));
+
+        // then
+        verify(repository).findChanges(null, MAXIMUM_ITEMS, MAX_AWAIT_MILLIS);
+    }
+}
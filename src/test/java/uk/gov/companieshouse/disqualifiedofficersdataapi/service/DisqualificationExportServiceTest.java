@@ -0,0 +1,162 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi.KindEnum.CORPORATE_DISQUALIFICATION;
+import static uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
+import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ApplicationConfig;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.ExportFilter;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DisqualificationExportServiceTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final String DELTA_AT = "20240925171003950844";
+    private static final ExportFilter FILTER = new ExportFilter(null, null, DELTA_AT, null);
+
+    @Mock
+    private DisqualifiedOfficerRepository repository;
+
+    private final ObjectMapper objectMapper = new ApplicationConfig().objectMapper();
+
+    private DisqualificationExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new DisqualificationExportService(repository, objectMapper, BATCH_SIZE);
+    }
+
+    @Test
+    void shouldWriteNaturalThenCorporateDisqualificationsOnePerLine() throws Exception {
+        // given
+        AtomicBoolean naturalClosed = new AtomicBoolean();
+        AtomicBoolean corporateClosed = new AtomicBoolean();
+        when(repository.streamAll(false, FILTER, BATCH_SIZE, NaturalDisqualificationDocument.class))
+                .thenReturn(Stream.of(naturalDocument("natural_1"), naturalDocument("natural_2"))
+                        .onClose(() -> naturalClosed.set(true)));
+        when(repository.streamAll(true, FILTER, BATCH_SIZE, CorporateDisqualificationDocument.class))
+                .thenReturn(Stream.of(corporateDocument("corporate_1")).onClose(() -> corporateClosed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long actual = exportService.export(FILTER, out);
+
+        // then
+        assertEquals(3, actual);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(5, lines.length);
+        assertEquals("{\"complete\":true,\"lines\":3}", lines[3]);
+        assertEquals("", lines[4]);
+        assertLine(lines[0], "natural_1", "natural", NATURAL_DISQUALIFICATION);
+        assertLine(lines[1], "natural_2", "natural", NATURAL_DISQUALIFICATION);
+        assertLine(lines[2], "corporate_1", "corporate", CORPORATE_DISQUALIFICATION);
+        assertTrue(naturalClosed.get());
+        assertTrue(corporateClosed.get());
+    }
+
+    @Test
+    void shouldWriteOnlyTrailerWhenNoDisqualificationsMatch() throws Exception {
+        // given
+        when(repository.streamAll(eq(false), any(), eq(BATCH_SIZE), eq(NaturalDisqualificationDocument.class)))
+                .thenReturn(Stream.empty());
+        when(repository.streamAll(eq(true), any(), eq(BATCH_SIZE), eq(CorporateDisqualificationDocument.class)))
+                .thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long actual = exportService.export(FILTER, out);
+
+        // then
+        assertEquals(0, actual);
+        assertEquals("{\"complete\":true,\"lines\":0}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void shouldThrowBadGatewayAndCloseCursorWhenMongoFails() {
+        // given
+        AtomicBoolean naturalClosed = new AtomicBoolean();
+        when(repository.streamAll(false, FILTER, BATCH_SIZE, NaturalDisqualificationDocument.class))
+                .thenReturn(Stream.<NaturalDisqualificationDocument>generate(() -> {
+                    throw new DataAccessResourceFailureException("cursor lost");
+                }).onClose(() -> naturalClosed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        assertThrows(BadGatewayException.class, () -> exportService.export(FILTER, out));
+
+        // then
+        assertTrue(naturalClosed.get());
+    }
+
+    @Test
+    void shouldWriteNoTrailerWhenMongoFailsAfterOutputFlushed() {
+        // given
+        Stream<NaturalDisqualificationDocument> documents = IntStream.range(0, 500)
+                .mapToObj(i -> naturalDocument("natural_" + i));
+        when(repository.streamAll(false, FILTER, BATCH_SIZE, NaturalDisqualificationDocument.class))
+                .thenReturn(Stream.concat(documents, Stream.generate(() -> {
+                    throw new DataAccessResourceFailureException("cursor lost");
+                })));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        assertThrows(BadGatewayException.class, () -> exportService.export(FILTER, out));
+
+        // then
+        assertTrue(out.size() > 8192);
+        String written = out.toString(StandardCharsets.UTF_8);
+        assertTrue(written.startsWith("{\"officer_id\":\"natural_0\""));
+        assertFalse(written.contains("\"complete\""));
+    }
+
+    private void assertLine(String line, String officerId, String officerType, Enum<?> kind) throws Exception {
+        JsonNode node = objectMapper.readTree(line);
+        assertEquals(officerId, node.get("officer_id").asText());
+        assertEquals(officerType, node.get("officer_type").asText());
+        assertEquals(DELTA_AT, node.get("delta_at").asText());
+        JsonNode expectedKind = objectMapper.valueToTree(kind);
+        assertEquals(expectedKind, node.get("data").get("kind"));
+    }
+
+    private static NaturalDisqualificationDocument naturalDocument(String officerId) {
+        NaturalDisqualificationDocument document = new NaturalDisqualificationDocument();
+        document.setData(new NaturalDisqualificationApi());
+        document.setId(officerId);
+        document.setDeltaAt(DELTA_AT);
+        return document;
+    }
+
+    private static CorporateDisqualificationDocument corporateDocument(String officerId) {
+        CorporateDisqualificationDocument document = new CorporateDisqualificationDocument();
+        document.setData(new CorporateDisqualificationApi());
+        document.setId(officerId);
+        document.setDeltaAt(DELTA_AT);
+        document.setCorporateOfficer(true);
+        return document;
+    }
+}
@@ -0,0 +1,250 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.NotFoundException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.service.DisqualificationResponseCache.CachedResponse;
+
+class DisqualificationResponseCacheTest {
+
+    private static final String OFFICER_ID = "officerId";
+    private static final byte[] BODY = "{\"forename\":\"Dust\"}".getBytes();
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<CachedResponse> loader = () -> {
+        loads.incrementAndGet();
+        return cache.toCachedResponse("etag", Map.of("forename", "Dust"));
+    };
+
+    private DisqualificationResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DisqualificationResponseCache(new ObjectMapper(), 100, 300);
+    }
+
+    @Test
+    void shouldLoadOnceAndServeSerialisedBodyFromCache() {
+        // given
+        cache.get(DisqualificationResourceType.NATURAL, OFFICER_ID, loader);
+
+        // when
+        CachedResponse actual = cache.get(DisqualificationResourceType.NATURAL, OFFICER_ID, loader);
+
+        // then
+        assertArrayEquals(BODY, actual.body());
+        assertEquals("etag", actual.etag());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldReturnCachedResponseWithoutLoading() {
+        // given
+        assertNull(cache.getIfPresent(DisqualificationResourceType.NATURAL, OFFICER_ID));
+        cache.get(DisqualificationResourceType.NATURAL, OFFICER_ID, loader);
+
+        // when
+        CachedResponse actual = cache.getIfPresent(DisqualificationResourceType.NATURAL, OFFICER_ID);
+
+        // then
+        assertArrayEquals(BODY, actual.body());
+        assertNull(cache.getIfPresent(DisqualificationResourceType.CORPORATE, OFFICER_ID));
+    }
+
+    @Test
+    void shouldKeyByOfficerType() {
+        // given
+        cache.get(DisqualificationResourceType.NATURAL, OFFICER_ID, loader);
+
+        // when
+        cache.get(DisqualificationResourceType.CORPORATE, OFFICER_ID, loader);
+
+        // then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldInvalidateBothOfficerTypes() {
+        // given
+        cache.get(DisqualificationResourceType.NATURAL, OFFICER_ID, loader);
+        cache.get(DisqualificationResourceType.CORPORATE, OFFICER_ID, loader);
+
+        // when
+        cache.invalidate(OFFICER_ID);
+        cache.get(DisqualificationResourceType.NATURAL, OFFICER_ID, loader);
+        cache.get(DisqualificationResourceType.CORPORATE, OFFICER_ID, loader);
+
+        // then
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void shouldNotCacheFailedLoads() {
+        // given
+        Executable executable = () -> cache.get(DisqualificationResourceType.NATURAL, OFFICER_ID, () -> {
+            throw new NotFoundException("Record not found in MongoDB");
+        });
+        assertThrows(NotFoundException.class, executable);
+
+        // when
+        CachedResponse actual = cache.get(DisqualificationResourceType.NATURAL, OFFICER_ID, loader);
+
+        // then
+        assertArrayEquals(BODY, actual.body());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldPublishHitAndMissMetrics() {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        // when
+        cache.get(DisqualificationResourceType.NATURAL, OFFICER_ID, loader);
+        cache.get(DisqualificationResourceType.NATURAL, OFFICER_ID, loader);
+
+        // then
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", DisqualificationResponseCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", DisqualificationResponseCache.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void shouldShareOneLoadBetweenConcurrentMisses() throws Exception {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<CachedResponse> blockingLoader = () -> {
+            loading.countDown();
+            await(release);
+            return loader.get();
+        };
+        int waiters = 5;
+        List<Future<CachedResponse>> responses = new ArrayList<>();
+
+        // when
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            responses.add(executor.submit(() -> cache.get(DisqualificationResourceType.NATURAL, OFFICER_ID,
+                    blockingLoader)));
+            await(loading);
+            for (int i = 0; i < waiters; i++) {
+                responses.add(executor.submit(() -> cache.get(DisqualificationResourceType.NATURAL, OFFICER_ID,
+                        blockingLoader)));
+            }
+            awaitCollapsed(registry, waiters);
+            release.countDown();
+        }
+
+        // then
+        assertEquals(1, loads.get());
+        for (Future<CachedResponse> response : responses) {
+            assertArrayEquals(BODY, response.get().body());
+        }
+    }
+
+    @Test
+    void shouldShareFailedLoadWithConcurrentMisses() throws Exception {
+        // given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        NotFoundException notFound = new NotFoundException("Record not found in MongoDB");
+        Supplier<CachedResponse> failingLoader = () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            throw notFound;
+        };
+        Future<CachedResponse> leader;
+        Future<CachedResponse> waiter;
+
+        // when
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            leader = executor.submit(() -> cache.get(DisqualificationResourceType.NATURAL, OFFICER_ID,
+                    failingLoader));
+            await(loading);
+            waiter = executor.submit(() -> cache.get(DisqualificationResourceType.NATURAL, OFFICER_ID,
+                    failingLoader));
+            awaitCollapsed(registry, 1);
+            release.countDown();
+        }
+
+        // then
+        assertEquals(1, loads.get());
+        assertSame(notFound, assertThrows(ExecutionException.class, leader::get).getCause());
+        assertSame(notFound, assertThrows(ExecutionException.class, waiter::get).getCause());
+    }
+
+    @Test
+    void shouldNotCacheLoadInvalidatedWhileInFlight() throws Exception {
+        // given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<CachedResponse> blockingLoader = () -> {
+            loading.countDown();
+            await(release);
+            return loader.get();
+        };
+        Future<CachedResponse> response;
+
+        // when
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            response = executor.submit(() -> cache.get(DisqualificationResourceType.NATURAL, OFFICER_ID,
+                    blockingLoader));
+            await(loading);
+            cache.invalidate(OFFICER_ID);
+            release.countDown();
+        }
+
+        // then
+        assertArrayEquals(BODY, response.get().body());
+        assertNull(cache.getIfPresent(DisqualificationResourceType.NATURAL, OFFICER_ID));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for latch");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void awaitCollapsed(SimpleMeterRegistry registry, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (registry.get(DisqualificationResponseCache.COLLAPSED_METRIC).functionCounter().count() < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Timed out waiting for collapsed requests");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
@@ -1,22 +1,27 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
-import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.function.Executable;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
 import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.InternalCorporateDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.InternalDisqualificationApiInternalData;
@@ -24,37 +29,45 @@ import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificatio
 import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.api.DisqualifiedOfficerApiService;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.api.ResourceChangedRequest;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.FeatureFlags;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.BadGatewayException;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.ConflictException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.NotFoundException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.exceptions.SerDesException;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkDisqualificationItem;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkDisqualificationResult;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.BulkItemStatus;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
-import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Created;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationBatch;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.Updated;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.CorporateDisqualifiedOfficerRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualificationEtag;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.DisqualifiedOfficerRepository;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.NaturalDisqualifiedOfficerRepository;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.repository.UpsertResult;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.transform.DisqualificationTransformer;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @ExtendWith(MockitoExtension.class)
 class DisqualifiedOfficerServiceTest {
 
     private static final String OFFICER_ID = "officerId";
     private static final String CURRENT_DATE = "20240121133129395348";
-    private static final String PAST_DATE = "20220121133129395348";
-    private static final String FUTURE_DATE = "30220121133129395348";
     private static final OffsetDateTime CURRENT_ZDT = ZonedDateTime.parse(CURRENT_DATE,
                     DateTimeFormatter.ofPattern("yyyyMMddHHmmssSSSSSS")
                             .withZone(ZoneOffset.UTC))
             .toOffsetDateTime();
-    private static final String EXISTING_DELTA_AT = "20230925171003950844";
 
     private InternalNaturalDisqualificationApi request;
     private InternalCorporateDisqualificationApi corpRequest;
@@ -74,7 +87,11 @@ class DisqualifiedOfficerServiceTest {
     @Mock
     private DisqualifiedOfficerApiService disqualifiedOfficerApiService;
     @Mock
-    private DeltaAtHandler deltaAtHandler;
+    private DisqualificationResponseCache responseCache;
+    @Mock
+    private FeatureFlags featureFlags;
+    @Mock
+    private StaleDeltaCounter staleDeltas;
 
     @BeforeEach
     void setUp() {
@@ -86,82 +103,65 @@ class DisqualifiedOfficerServiceTest {
         corpRequest.setInternalData(internal);
         document = new DisqualificationDocument();
         document.setUpdated(new Updated().setAt(LocalDateTime.now()));
-        document.setDeltaAt(EXISTING_DELTA_AT);
+        document.setDeltaAt(CURRENT_DATE);
     }
 
     @Test
-    void processNaturalDisqualificationSavesDisqualificationIfNoExistingDocument() {
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.empty());
+    void processNaturalDisqualificationInsertsDisqualificationIfNoExistingDocument() {
         when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
+        when(repository.upsertIfNotStale(document)).thenReturn(UpsertResult.INSERTED);
 
         service.processNaturalDisqualification("", OFFICER_ID, request);
 
-        verify(repository).save(document);
+        verify(repository).upsertIfNotStale(document);
+        verify(responseCache).invalidate(OFFICER_ID);
+        assertEquals(document.getUpdated().getAt(), document.getCreated().getAt());
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
                 DisqualificationResourceType.NATURAL, null, false));
     }
 
     @Test
-    void processNaturalDisqualificationSavesDisqualificationIfExistingDocumentHasEmptyDeltaAt() {
-        document.setDeltaAt("");
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
+    void processNaturalDisqualificationSavesAndInvalidatesBeforeNotifying() {
         when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
+        when(repository.upsertIfNotStale(document)).thenReturn(UpsertResult.INSERTED);
 
         service.processNaturalDisqualification("", OFFICER_ID, request);
 
-        verify(repository).save(document);
-        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
-                DisqualificationResourceType.NATURAL, null, false));
+        InOrder inOrder = inOrder(repository, responseCache, disqualifiedOfficerApiService);
+        inOrder.verify(repository).upsertIfNotStale(document);
+        inOrder.verify(responseCache).invalidate(OFFICER_ID);
+        inOrder.verify(disqualifiedOfficerApiService).invokeChsKafkaApi(any());
     }
 
     @Test
-    void processNaturalDisqualificationSavesDisqualificationIfExistingDocumentHasNullDeltaAt() {
-        document.setDeltaAt(null);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
+    void processNaturalDisqualificationReplacesExistingDocumentWhenNotStale() {
         when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
+        when(repository.upsertIfNotStale(document)).thenReturn(UpsertResult.APPLIED);
 
         service.processNaturalDisqualification("", OFFICER_ID, request);
 
-        verify(repository).save(document);
+        verify(repository).upsertIfNotStale(document);
+        verify(responseCache).invalidate(OFFICER_ID);
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
                 DisqualificationResourceType.NATURAL, null, false));
     }
 
     @Test
-    void shouldProcessNaturalDisqualificationWhenRequestDeltaAtIsMoreRecent() {
-        document.setCreated(new Created().setAt(LocalDateTime.now()));
-        document.setDeltaAt(PAST_DATE);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
+    void processNaturalDisqualificationFailsWhenMongoUnavailable() {
         when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
+        when(repository.upsertIfNotStale(document)).thenThrow(
+                new TransientDataAccessResourceException("MongoDB unavailable"));
 
-        service.processNaturalDisqualification("", OFFICER_ID, request);
-
-        verify(repository).save(document);
-        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
-                DisqualificationResourceType.NATURAL, null, false));
-    }
-
-    @Test
-    void processRetriedNaturalDisqualificationDelta() {
-        document.setCreated(new Created().setAt(LocalDateTime.now()));
-        document.setDeltaAt(CURRENT_DATE);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
-        when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
-
-        service.processNaturalDisqualification("", OFFICER_ID, request);
+        Executable executable = () -> service.processNaturalDisqualification("", OFFICER_ID, request);
 
-        verify(repository).save(document);
-        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
-                DisqualificationResourceType.NATURAL, null, false));
+        assertThrows(BadGatewayException.class, executable);
+        verify(disqualifiedOfficerApiService, never()).invokeChsKafkaApi(any());
     }
 
     @Test
-    void processRetriedNaturalDisqualificationDeltaFailsSave() {
-        document.setCreated(new Created().setAt(LocalDateTime.now()));
-        document.setDeltaAt(PAST_DATE);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
+    void processNaturalDisqualificationFailsWhenMongoErrors() {
         when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
-        when(repository.save(document)).thenThrow(new BadGatewayException("MongoDB error when deleting document"));
+        when(repository.upsertIfNotStale(document)).thenThrow(new DataIntegrityViolationException("MongoDB error"));
 
         Executable executable = () -> service.processNaturalDisqualification("", OFFICER_ID, request);
 
@@ -171,96 +171,162 @@ class DisqualifiedOfficerServiceTest {
 
     @Test
     void shouldNotProcessNaturalDisqualificationWhenRequestIsStale() {
-        document.setDeltaAt(FUTURE_DATE);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
-        when(deltaAtHandler.isRequestStale(any(OffsetDateTime.class), any())).thenReturn(true);
+        when(transformer.transformNaturalDisqualifiedOfficer(OFFICER_ID, request)).thenReturn(document);
+        when(repository.upsertIfNotStale(document)).thenReturn(UpsertResult.STALE);
 
         Executable actual = () -> service.processNaturalDisqualification("", OFFICER_ID, request);
 
         assertThrows(ConflictException.class, actual);
-        verifyNoMoreInteractions(repository);
-        verifyNoInteractions(transformer);
+        verify(staleDeltas).upsert(DisqualificationResourceType.NATURAL);
         verifyNoInteractions(disqualifiedOfficerApiService);
+        verifyNoInteractions(responseCache);
     }
 
     @Test
-    void processCorporateDisqualificationSavesDisqualificationIfNoExistingDocument() {
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.empty());
+    void processCorporateDisqualificationInsertsDisqualificationIfNoExistingDocument() {
         when(transformer.transformCorporateDisqualifiedOfficer(OFFICER_ID, corpRequest)).thenReturn(document);
+        when(repository.upsertIfNotStale(document)).thenReturn(UpsertResult.INSERTED);
 
         service.processCorporateDisqualification("", OFFICER_ID, corpRequest);
 
-        verify(repository).save(document);
+        verify(repository).upsertIfNotStale(document);
+        verify(responseCache).invalidate(OFFICER_ID);
+        assertEquals(document.getUpdated().getAt(), document.getCreated().getAt());
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
                 DisqualificationResourceType.CORPORATE, null, false));
     }
 
     @Test
-    void processCorporateDisqualificationSavesDisqualificationIfExistingDocumentHasEmptyDeltaAt() {
-        document.setDeltaAt("");
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
+    void processCorporateDisqualificationReplacesExistingDocumentWhenNotStale() {
         when(transformer.transformCorporateDisqualifiedOfficer(OFFICER_ID, corpRequest)).thenReturn(document);
+        when(repository.upsertIfNotStale(document)).thenReturn(UpsertResult.APPLIED);
 
         service.processCorporateDisqualification("", OFFICER_ID, corpRequest);
 
-        verify(repository).save(document);
+        verify(repository).upsertIfNotStale(document);
+        verify(responseCache).invalidate(OFFICER_ID);
         verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
                 DisqualificationResourceType.CORPORATE, null, false));
     }
 
     @Test
-    void processCorporateDisqualificationSavesDisqualificationIfExistingDocumentHasNullDeltaAt() {
-        document.setDeltaAt(null);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
+    void shouldNotProcessCorporateDisqualificationWhenRequestIsStale() {
         when(transformer.transformCorporateDisqualifiedOfficer(OFFICER_ID, corpRequest)).thenReturn(document);
+        when(repository.upsertIfNotStale(document)).thenReturn(UpsertResult.STALE);
 
-        service.processCorporateDisqualification("", OFFICER_ID, corpRequest);
+        Executable actual = () -> service.processCorporateDisqualification("", OFFICER_ID, corpRequest);
 
-        verify(repository).save(document);
-        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
-                DisqualificationResourceType.CORPORATE, null, false));
+        assertThrows(ConflictException.class, actual);
+        verify(staleDeltas).upsert(DisqualificationResourceType.CORPORATE);
+        verifyNoInteractions(disqualifiedOfficerApiService);
+        verifyNoInteractions(responseCache);
     }
 
     @Test
-    void shouldProcessCorporateDisqualificationWhenRequestDeltaAtIsMoreRecent() {
-        document.setCreated(new Created().setAt(LocalDateTime.now()));
-        document.setDeltaAt(PAST_DATE);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
-        when(deltaAtHandler.isRequestStale(any(OffsetDateTime.class), any())).thenReturn(false);
-        when(transformer.transformCorporateDisqualifiedOfficer(OFFICER_ID, corpRequest)).thenReturn(document);
-
-        service.processCorporateDisqualification("", OFFICER_ID, corpRequest);
-
-        verify(repository).save(document);
-        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
+    void processBulkDisqualificationsReportsStatusPerItem() {
+        DisqualificationDocument natural = bulkDocument("natural", false);
+        DisqualificationDocument corporate = bulkDocument("corporate", true);
+        DisqualificationDocument stale = bulkDocument("stale", false);
+        DisqualificationDocument failed = bulkDocument("failed", false);
+        InternalNaturalDisqualificationApi staleRequest = new InternalNaturalDisqualificationApi();
+        InternalNaturalDisqualificationApi failedRequest = new InternalNaturalDisqualificationApi();
+        when(transformer.transformNaturalDisqualifiedOfficer("natural", request)).thenReturn(natural);
+        when(transformer.transformCorporateDisqualifiedOfficer("corporate", corpRequest)).thenReturn(corporate);
+        when(transformer.transformNaturalDisqualifiedOfficer("stale", staleRequest)).thenReturn(stale);
+        when(transformer.transformNaturalDisqualifiedOfficer("failed", failedRequest)).thenReturn(failed);
+        when(repository.upsertAllIfNotStale(List.of(natural, corporate, stale, failed))).thenReturn(
+                List.of(UpsertResult.INSERTED, UpsertResult.APPLIED, UpsertResult.STALE, UpsertResult.FAILED));
+
+        List<BulkDisqualificationResult> actual = service.processBulkDisqualifications("", List.of(
+                new BulkDisqualificationItem("natural", request),
+                new BulkDisqualificationItem("corporate", corpRequest),
+                new BulkDisqualificationItem("stale", staleRequest),
+                new BulkDisqualificationItem("failed", failedRequest)));
+
+        assertEquals(List.of(
+                new BulkDisqualificationResult("natural", BulkItemStatus.APPLIED),
+                new BulkDisqualificationResult("corporate", BulkItemStatus.APPLIED),
+                new BulkDisqualificationResult("stale", BulkItemStatus.STALE),
+                new BulkDisqualificationResult("failed", BulkItemStatus.FAILED)), actual);
+        assertEquals(natural.getUpdated().getAt(), natural.getCreated().getAt());
+        verify(responseCache).invalidate("natural");
+        verify(responseCache).invalidate("corporate");
+        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "natural",
+                DisqualificationResourceType.NATURAL, null, false));
+        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "corporate",
                 DisqualificationResourceType.CORPORATE, null, false));
+        verify(disqualifiedOfficerApiService, times(2)).invokeChsKafkaApi(any());
+        verify(staleDeltas).upsert(DisqualificationResourceType.NATURAL);
     }
 
     @Test
-    void processRetriedCorporateDisqualificationDeltaAt() {
-        document.setCreated(new Created().setAt(LocalDateTime.now()));
-        document.setDeltaAt(CURRENT_DATE);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
-        when(transformer.transformCorporateDisqualifiedOfficer(OFFICER_ID, corpRequest)).thenReturn(document);
+    void processBulkDisqualificationsFailsItemsThatCannotBeTransformed() {
+        DisqualificationDocument natural = bulkDocument("natural", false);
+        when(transformer.transformNaturalDisqualifiedOfficer("natural", request)).thenReturn(natural);
+        when(transformer.transformCorporateDisqualifiedOfficer("corporate", corpRequest))
+                .thenThrow(new IllegalArgumentException("bad delta_at"));
+        when(repository.upsertAllIfNotStale(List.of(natural))).thenReturn(List.of(UpsertResult.INSERTED));
+
+        List<BulkDisqualificationResult> actual = service.processBulkDisqualifications("", List.of(
+                new BulkDisqualificationItem("corporate", corpRequest),
+                new BulkDisqualificationItem("untyped", null),
+                new BulkDisqualificationItem("natural", request)));
+
+        assertEquals(List.of(
+                new BulkDisqualificationResult("corporate", BulkItemStatus.FAILED),
+                new BulkDisqualificationResult("untyped", BulkItemStatus.FAILED),
+                new BulkDisqualificationResult("natural", BulkItemStatus.APPLIED)), actual);
+    }
 
-        service.processCorporateDisqualification("", OFFICER_ID, corpRequest);
+    @Test
+    void processBulkDisqualificationsFailsItemWhenResourceChangedCallFails() {
+        DisqualificationDocument natural = bulkDocument("natural", false);
+        when(transformer.transformNaturalDisqualifiedOfficer("natural", request)).thenReturn(natural);
+        when(repository.upsertAllIfNotStale(List.of(natural))).thenReturn(List.of(UpsertResult.APPLIED));
+        when(disqualifiedOfficerApiService.invokeChsKafkaApi(any())).thenThrow(
+                new BadGatewayException("Error calling resource changed endpoint"));
+
+        List<BulkDisqualificationResult> actual = service.processBulkDisqualifications("", List.of(
+                new BulkDisqualificationItem("natural", request)));
+
+        assertEquals(List.of(new BulkDisqualificationResult("natural", BulkItemStatus.FAILED)), actual);
+        verify(responseCache).invalidate("natural");
+    }
 
-        verify(repository).save(document);
-        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "officerId",
+    @Test
+    void processBulkDisqualificationsFailsOnlyTheItemWhoseResourceChangedCallThrows() {
+        DisqualificationDocument natural = bulkDocument("natural", false);
+        DisqualificationDocument corporate = bulkDocument("corporate", true);
+        when(transformer.transformNaturalDisqualifiedOfficer("natural", request)).thenReturn(natural);
+        when(transformer.transformCorporateDisqualifiedOfficer("corporate", corpRequest)).thenReturn(corporate);
+        when(repository.upsertAllIfNotStale(List.of(natural, corporate))).thenReturn(
+                List.of(UpsertResult.APPLIED, UpsertResult.APPLIED));
+        when(disqualifiedOfficerApiService.invokeChsKafkaApi(new ResourceChangedRequest("", "natural",
+                DisqualificationResourceType.NATURAL, null, false))).thenThrow(
+                new SerDesException("Failed to serialise deleted data", new RuntimeException()));
+
+        List<BulkDisqualificationResult> actual = service.processBulkDisqualifications("", List.of(
+                new BulkDisqualificationItem("natural", request),
+                new BulkDisqualificationItem("corporate", corpRequest)));
+
+        assertEquals(List.of(
+                new BulkDisqualificationResult("natural", BulkItemStatus.FAILED),
+                new BulkDisqualificationResult("corporate", BulkItemStatus.APPLIED)), actual);
+        verify(disqualifiedOfficerApiService).invokeChsKafkaApi(new ResourceChangedRequest("", "corporate",
                 DisqualificationResourceType.CORPORATE, null, false));
     }
 
     @Test
-    void shouldNotProcessCorporateDisqualificationWhenRequestIsStale() {
-        document.setDeltaAt(FUTURE_DATE);
-        when(repository.findById(OFFICER_ID)).thenReturn(Optional.of(document));
-        when(deltaAtHandler.isRequestStale(any(OffsetDateTime.class), any())).thenReturn(true);
+    void processBulkDisqualificationsFailsWhenMongoUnavailable() {
+        DisqualificationDocument natural = bulkDocument("natural", false);
+        when(transformer.transformNaturalDisqualifiedOfficer("natural", request)).thenReturn(natural);
+        when(repository.upsertAllIfNotStale(List.of(natural))).thenThrow(
+                new TransientDataAccessResourceException("MongoDB unavailable"));
 
-        Executable actual = () -> service.processCorporateDisqualification("", OFFICER_ID, corpRequest);
+        Executable executable = () -> service.processBulkDisqualifications("", List.of(
+                new BulkDisqualificationItem("natural", request)));
 
-        assertThrows(ConflictException.class, actual);
-        verifyNoMoreInteractions(repository);
-        verifyNoInteractions(transformer);
+        assertThrows(BadGatewayException.class, executable);
         verifyNoInteractions(disqualifiedOfficerApiService);
     }
 
@@ -269,12 +335,12 @@ class DisqualifiedOfficerServiceTest {
         NaturalDisqualificationDocument naturalDocument = new NaturalDisqualificationDocument();
         naturalDocument.setData(new NaturalDisqualificationApi());
         naturalDocument.setId(OFFICER_ID);
-        when(naturalRepository.findById(OFFICER_ID)).thenReturn(Optional.of(naturalDocument));
+        when(naturalRepository.findDataById(OFFICER_ID)).thenReturn(Optional.of(naturalDocument));
 
         NaturalDisqualificationDocument disqualification = service.retrieveNaturalDisqualification(OFFICER_ID);
 
         assertNotNull(disqualification);
-        verify(naturalRepository, times(1)).findById(any());
+        verify(naturalRepository, times(1)).findDataById(any());
     }
 
     @Test
@@ -283,39 +349,69 @@ class DisqualifiedOfficerServiceTest {
         corporateDocument.setData(new CorporateDisqualificationApi());
         corporateDocument.setCorporateOfficer(true);
         corporateDocument.setId(OFFICER_ID);
-        when(corporateRepository.findById(OFFICER_ID)).thenReturn(Optional.of(corporateDocument));
+        when(corporateRepository.findDataById(OFFICER_ID)).thenReturn(Optional.of(corporateDocument));
 
         CorporateDisqualificationDocument disqualification = service.retrieveCorporateDisqualification(OFFICER_ID);
 
         assertNotNull(disqualification);
-        verify(corporateRepository, times(1)).findById(any());
+        verify(corporateRepository, times(1)).findDataById(any());
     }
 
     @Test
-    void throwsExceptionWhenCorporateIndIsTrueButNaturalOfficerCalled() {
+    void precomputedResponseIsReturnedWithoutReadingData() {
         NaturalDisqualificationDocument naturalDocument = new NaturalDisqualificationDocument();
         naturalDocument.setData(new NaturalDisqualificationApi());
-        naturalDocument.setCorporateOfficer(true);
-        naturalDocument.setId(OFFICER_ID);
-        when(naturalRepository.findById(OFFICER_ID)).thenReturn(Optional.of(naturalDocument));
+        naturalDocument.setResponseBody(new byte[]{'{', '}'});
+        when(featureFlags.isPrecomputedResponseEnabled()).thenReturn(true);
+        when(naturalRepository.findResponseBodyById(OFFICER_ID)).thenReturn(Optional.of(naturalDocument));
 
-        assertThrows(RuntimeException.class, () -> service.retrieveNaturalDisqualification
-                (OFFICER_ID));
-        verify(naturalRepository, times(1)).findById(any());
+        NaturalDisqualificationDocument disqualification = service.retrieveNaturalDisqualification(OFFICER_ID);
 
+        assertEquals(naturalDocument, disqualification);
+        verify(naturalRepository, never()).findDataById(any());
     }
 
     @Test
-    void throwsExceptionWhenCorporateIndIsFalseButCorporateOfficerCalled() {
+    void dataIsReadWhenNoPrecomputedResponseIsStored() {
+        CorporateDisqualificationDocument withoutBody = new CorporateDisqualificationDocument();
+        withoutBody.setData(new CorporateDisqualificationApi());
         CorporateDisqualificationDocument corporateDocument = new CorporateDisqualificationDocument();
         corporateDocument.setData(new CorporateDisqualificationApi());
-        corporateDocument.setCorporateOfficer(false);
-        corporateDocument.setId(OFFICER_ID);
-        when(corporateRepository.findById(OFFICER_ID)).thenReturn(Optional.of(corporateDocument));
+        when(featureFlags.isPrecomputedResponseEnabled()).thenReturn(true);
+        when(corporateRepository.findResponseBodyById(OFFICER_ID)).thenReturn(Optional.of(withoutBody));
+        when(corporateRepository.findDataById(OFFICER_ID)).thenReturn(Optional.of(corporateDocument));
 
-        assertThrows(RuntimeException.class, () -> service.retrieveCorporateDisqualification
+        CorporateDisqualificationDocument disqualification = service.retrieveCorporateDisqualification(OFFICER_ID);
+
+        assertEquals(corporateDocument, disqualification);
+    }
+
+    @Test
+    void precomputedResponseForWrongOfficerTypeIsNotFound() {
+        when(featureFlags.isPrecomputedResponseEnabled()).thenReturn(true);
+        when(naturalRepository.findResponseBodyById(OFFICER_ID)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> service.retrieveNaturalDisqualification(OFFICER_ID));
+        verify(naturalRepository, never()).findDataById(any());
+    }
+
+    @Test
+    void throwsExceptionWhenCorporateIndIsTrueButNaturalOfficerCalled() {
+        when(naturalRepository.findDataById(OFFICER_ID)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> service.retrieveNaturalDisqualification
                 (OFFICER_ID));
-        verify(corporateRepository, times(1)).findById(any());
+        verify(naturalRepository, times(1)).findDataById(any());
+
+    }
+
+    @Test
+    void throwsExceptionWhenCorporateIndIsFalseButCorporateOfficerCalled() {
+        when(corporateRepository.findDataById(OFFICER_ID)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> service.retrieveCorporateDisqualification
+                (OFFICER_ID));
+        verify(corporateRepository, times(1)).findDataById(any());
 
     }
 
@@ -324,7 +420,66 @@ class DisqualifiedOfficerServiceTest {
 
         assertThrows(RuntimeException.class, () -> service.retrieveNaturalDisqualification
                 ("asdfasdfasdf"));
-        verify(naturalRepository, times(1)).findById(any());
+        verify(naturalRepository, times(1)).findDataById(any());
+
+    }
+
+    @Test
+    void retrieveDisqualificationsReadsAllIdsInOneQueryAndAppliesTypeRules() {
+        NaturalDisqualificationDocument natural = new NaturalDisqualificationDocument();
+        natural.setData(new NaturalDisqualificationApi());
+        natural.setId("natural_id");
+        CorporateDisqualificationDocument corporate = new CorporateDisqualificationDocument();
+        corporate.setData(new CorporateDisqualificationApi());
+        corporate.setCorporateOfficer(true);
+        corporate.setId("corporate_id");
+        when(repository.findDataByIds(Set.of("natural_id", "corporate_id", "missing_id")))
+                .thenReturn(List.of(natural, corporate));
+
+        DisqualificationBatch batch = service.retrieveDisqualifications(
+                List.of("natural_id", "corporate_id"), List.of("corporate_id", "natural_id", "missing_id"));
+
+        assertEquals(Map.of("natural_id", natural.getData()), batch.natural());
+        assertEquals(Map.of("corporate_id", corporate.getData()), batch.corporate());
+        assertEquals(List.of("corporate_id"), batch.naturalNotFound());
+        assertEquals(List.of("natural_id", "missing_id"), batch.corporateNotFound());
+        assertEquals(NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION, natural.getData().getKind());
+        assertEquals(CorporateDisqualificationApi.KindEnum.CORPORATE_DISQUALIFICATION, corporate.getData().getKind());
+        verify(repository, times(1)).findDataByIds(any());
+    }
+
+    @Test
+    void retrieveDisqualificationEtagReturnsStoredEtag() {
+        when(repository.findEtagById(OFFICER_ID)).thenReturn(Optional.of(new DisqualificationEtag("etag", true)));
+
+        String etag = service.retrieveDisqualificationEtag(OFFICER_ID, DisqualificationResourceType.CORPORATE);
+
+        assertEquals("etag", etag);
+        verifyNoInteractions(naturalRepository, corporateRepository);
+    }
+
+    @Test
+    void retrieveDisqualificationEtagThrowsWhenOfficerTypeDiffers() {
+        when(repository.findEtagById(OFFICER_ID)).thenReturn(Optional.of(new DisqualificationEtag("etag", true)));
+
+        assertThrows(NotFoundException.class, () -> service.retrieveDisqualificationEtag(OFFICER_ID,
+                DisqualificationResourceType.NATURAL));
+    }
+
+    @Test
+    void retrieveDisqualificationEtagThrowsWhenNotFound() {
+        when(repository.findEtagById(OFFICER_ID)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> service.retrieveDisqualificationEtag(OFFICER_ID,
+                DisqualificationResourceType.NATURAL));
+    }
 
+    private static DisqualificationDocument bulkDocument(String officerId, boolean corporateOfficer) {
+        DisqualificationDocument bulkDocument = new DisqualificationDocument();
+        bulkDocument.setId(officerId);
+        bulkDocument.setCorporateOfficer(corporateOfficer);
+        bulkDocument.setUpdated(new Updated().setAt(LocalDateTime.now()));
+        bulkDocument.setDeltaAt(CURRENT_DATE);
+        return bulkDocument;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package uk.gov.companieshouse.disqualifiedofficersdataapi.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.model.DisqualificationResourceType;
+
+class StaleDeltaCounterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private StaleDeltaCounter staleDeltas;
+
+    @BeforeEach
+    void setUp() {
+        staleDeltas = new StaleDeltaCounter();
+        staleDeltas.bindTo(registry);
+    }
+
+    @Test
+    void shouldCountStaleDeltasByOperationAndOfficerType() {
+        // when
+        staleDeltas.upsert(DisqualificationResourceType.NATURAL);
+        staleDeltas.upsert(DisqualificationResourceType.NATURAL);
+        staleDeltas.delete(DisqualificationResourceType.CORPORATE);
+
+        // then
+        assertEquals(2, count("upsert", "natural"));
+        assertEquals(0, count("upsert", "corporate"));
+        assertEquals(0, count("delete", "natural"));
+        assertEquals(1, count("delete", "corporate"));
+    }
+
+    private double count(String operation, String officerType) {
+        return registry.get(StaleDeltaCounter.METRIC_NAME).tag("operation", operation)
+                .tag("officer_type", officerType).functionCounter().count();
+    }
+}
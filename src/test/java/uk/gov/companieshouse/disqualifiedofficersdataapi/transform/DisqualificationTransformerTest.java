@@ -1,5 +1,6 @@
 package uk.gov.companieshouse.disqualifiedofficersdataapi.transform;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import uk.gov.companieshouse.api.disqualification.CorporateDisqualificationApi;
@@ -7,6 +8,8 @@ import uk.gov.companieshouse.api.disqualification.InternalCorporateDisqualificat
 import uk.gov.companieshouse.api.disqualification.InternalDisqualificationApiInternalData;
 import uk.gov.companieshouse.api.disqualification.InternalNaturalDisqualificationApi;
 import uk.gov.companieshouse.api.disqualification.NaturalDisqualificationApi;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.ApplicationConfig;
+import uk.gov.companieshouse.disqualifiedofficersdataapi.config.FeatureFlags;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.CorporateDisqualificationDocument;
 import uk.gov.companieshouse.disqualifiedofficersdataapi.model.NaturalDisqualificationDocument;
 
@@ -14,8 +17,10 @@ import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DisqualificationTransformerTest {
@@ -26,11 +31,13 @@ class DisqualificationTransformerTest {
     private static final String OFFICER_ID_RAW = "officerIdRaw";
 
 
+    private final ObjectMapper objectMapper = new ApplicationConfig().objectMapper();
+
     private DisqualificationTransformer transformer;
 
     @BeforeEach
     void setup() {
-        transformer = new DisqualificationTransformer();
+        transformer = new DisqualificationTransformer(objectMapper, new FeatureFlags(true, false, false));
     }
 
     @Test
@@ -53,9 +60,11 @@ class DisqualificationTransformerTest {
         assertEquals(OFFICER_DISQ_ID, document.getOfficerDisqId());
         assertEquals(OFFICER_ID_RAW, document.getOfficerIdRaw());
         assertEquals("20200101010101000001", document.getDeltaAt());
+        assertEquals(1577840461000001L, document.getDeltaAtMicros());
         assertEquals(OFFICER_ID, document.getId());
         assertFalse(document.isCorporateOfficer());
         assertEquals(external, document.getData());
+        assertNull(document.getResponseBody());
         assertTrue(LocalDateTime.now().toEpochSecond(ZoneOffset.MIN)
                 - document.getUpdated().getAt().toEpochSecond(ZoneOffset.MIN) < 2);
     }
@@ -80,6 +89,7 @@ class DisqualificationTransformerTest {
         assertEquals(OFFICER_DISQ_ID, document.getOfficerDisqId());
         assertEquals(OFFICER_ID_RAW, document.getOfficerIdRaw());
         assertEquals("20200101010101000001", document.getDeltaAt());
+        assertEquals(1577840461000001L, document.getDeltaAtMicros());
         assertEquals(OFFICER_ID, document.getId());
         assertTrue(document.isCorporateOfficer());
         assertEquals(external, document.getData());
@@ -87,4 +97,37 @@ class DisqualificationTransformerTest {
                 - document.getUpdated().getAt().toEpochSecond(ZoneOffset.MIN) < 2);
     }
 
+    @Test
+    void shouldRenderNaturalResponseWithKindWhenPrecomputedResponsesEnabled() throws Exception {
+        transformer = new DisqualificationTransformer(objectMapper, new FeatureFlags(true, false, true));
+        InternalNaturalDisqualificationApi request = new InternalNaturalDisqualificationApi();
+        request.setExternalData(new NaturalDisqualificationApi());
+        InternalDisqualificationApiInternalData internal = new InternalDisqualificationApiInternalData();
+        internal.setDeltaAt(OffsetDateTime.of(2020, 1, 1, 1, 1, 1, 1000, ZoneOffset.MIN));
+        request.setInternalData(internal);
+
+        NaturalDisqualificationDocument document = (NaturalDisqualificationDocument) transformer
+                .transformNaturalDisqualifiedOfficer(OFFICER_ID, request);
+
+        assertNull(document.getData().getKind());
+        document.getData().setKind(NaturalDisqualificationApi.KindEnum.NATURAL_DISQUALIFICATION);
+        assertArrayEquals(objectMapper.writeValueAsBytes(document.getData()), document.getResponseBody());
+    }
+
+    @Test
+    void shouldRenderCorporateResponseWithKindWhenPrecomputedResponsesEnabled() throws Exception {
+        transformer = new DisqualificationTransformer(objectMapper, new FeatureFlags(true, false, true));
+        InternalCorporateDisqualificationApi request = new InternalCorporateDisqualificationApi();
+        request.setExternalData(new CorporateDisqualificationApi());
+        InternalDisqualificationApiInternalData internal = new InternalDisqualificationApiInternalData();
+        internal.setDeltaAt(OffsetDateTime.of(2020, 1, 1, 1, 1, 1, 1000, ZoneOffset.MIN));
+        request.setInternalData(internal);
+
+        CorporateDisqualificationDocument document = (CorporateDisqualificationDocument) transformer
+                .transformCorporateDisqualifiedOfficer(OFFICER_ID, request);
+
+        assertNull(document.getData().getKind());
+        document.getData().setKind(CorporateDisqualificationApi.KindEnum.CORPORATE_DISQUALIFICATION);
+        assertArrayEquals(objectMapper.writeValueAsBytes(document.getData()), document.getResponseBody());
+    }
 }